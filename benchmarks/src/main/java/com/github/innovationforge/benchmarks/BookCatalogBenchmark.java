@@ -0,0 +1,70 @@
+package com.github.innovationforge.benchmarks;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookCatalog;
+import com.github.innovationforge.sra.repository.CompactBookCatalog;
+import com.github.innovationforge.sra.repository.SkipListBookCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the replica pays on reads for each {@link BookCatalog}; see {@link CatalogFootprint} for what it saves in
+ * heap.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookCatalogBenchmark {
+
+    @Param({"skipList", "compact"})
+    String catalog;
+
+    @Param({"100000"})
+    int catalogSize;
+
+    private BookCatalog books;
+
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        books = catalog.equals("compact") ? new CompactBookCatalog() : new SkipListBookCatalog();
+        for (Book book : Catalog.books(catalogSize)) {
+            books.put(book);
+        }
+    }
+
+    @Benchmark
+    public Book get() {
+        nextId = nextId % catalogSize + 1;
+        return books.get(nextId);
+    }
+
+    @Benchmark
+    public List<Book> page() {
+        nextId = nextId % catalogSize + 1;
+        return books.page(nextId, 0, 20);
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        books.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.innovationforge.benchmarks;
+
+import com.github.innovationforge.sra.SpringbootRestapiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full {@code BookControllerImpl} request handling, once through MockMvc (dispatcher servlet, no network) and
+ * once over a real socket to the embedded Tomcat. The repository decorators and the search indexes are switched
+ * off so every request reaches the {@link StubBackend} and nothing rebuilds in the background.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookControllerBenchmark {
+
+    @Param({"10", "1000"})
+    int catalogSize;
+
+    private StubBackend backend;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private HttpClient httpClient;
+
+    private HttpRequest socketGetBook;
+
+    private HttpRequest socketGetAllBooks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        backend = new StubBackend(catalogSize, Jackson2ObjectMapperBuilder.json().build());
+        context = new SpringApplicationBuilder(SpringbootRestapiApplication.class)
+                .run("--server.port=0",
+                        "--backend.api.url=" + backend.url(),
+                        "--backend.cache.enabled=false",
+                        "--backend.coalescing.enabled=false",
+                        "--backend.batch.enabled=false",
+                        "--backend.resilience.enabled=false",
+                        "--backend.search.enabled=false",
+                        "--logging.level.com.github.innovationforge=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/books";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        socketGetBook = HttpRequest.newBuilder(URI.create(baseUrl + "/1")).GET().build();
+        socketGetAllBooks = HttpRequest.newBuilder(URI.create(baseUrl)).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        backend.close();
+    }
+
+    @Benchmark
+    public byte[] mockMvcGetBook() throws Exception {
+        return mockMvc.perform(get("/api/books/1")).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] mockMvcGetAllBooks() throws Exception {
+        return mockMvc.perform(get("/api/books")).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] socketGetBook() throws Exception {
+        return httpClient.send(socketGetBook, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] socketGetAllBooks() throws Exception {
+        return httpClient.send(socketGetAllBooks, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
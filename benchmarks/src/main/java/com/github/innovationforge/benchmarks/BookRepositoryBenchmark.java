@@ -0,0 +1,87 @@
+package com.github.innovationforge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.innovationforge.sra.config.ApiProperties;
+import com.github.innovationforge.sra.config.HttpClientProperties;
+import com.github.innovationforge.sra.config.RestClientConfig;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookRepositoryImpl} over the pooled Apache client built by {@link RestClientConfig}, talking to an
+ * in-process {@link StubBackend} on the loopback interface.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookRepositoryBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int catalogSize;
+
+    private StubBackend backend;
+
+    private BookRepositoryImpl repository;
+
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        backend = new StubBackend(catalogSize, objectMapper);
+        ApiProperties apiProperties = new ApiProperties();
+        apiProperties.setUrl(backend.url());
+        RestClientConfig restClientConfig = new RestClientConfig(new HttpClientProperties());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        repository = new BookRepositoryImpl(apiProperties, restClientConfig.restClient(meterRegistry), objectMapper, meterRegistry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public Book findById() {
+        nextId = nextId % catalogSize + 1;
+        return repository.findById(nextId);
+    }
+
+    @Benchmark
+    public List<Book> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole blackhole) {
+        repository.streamAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public Book save() {
+        return repository.save(Catalog.book(catalogSize + 1L));
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.innovationforge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.innovationforge.sra.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of {@link Book} and {@code Book[]} with the object mapper settings Spring Boot
+ * applies to the application, in JSON and in the Smile and CBOR binary formats the API can also negotiate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookSerializationBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    private final Book book = Catalog.book(42);
+
+    private ObjectWriter bookWriter;
+
+    private ObjectReader bookReader;
+
+    private byte[] bookBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = objectMapper(format);
+        bookWriter = objectMapper.writerFor(Book.class);
+        bookReader = objectMapper.readerFor(Book.class);
+        bookBytes = bookWriter.writeValueAsBytes(book);
+    }
+
+    @State(Scope.Benchmark)
+    public static class CatalogState {
+
+        @Param({"10", "1000", "100000"})
+        int catalogSize;
+
+        ObjectWriter writer;
+
+        ObjectReader reader;
+
+        Book[] books;
+
+        byte[] bytes;
+
+        @Setup
+        public void setUp(BookSerializationBenchmark benchmark) throws IOException {
+            ObjectMapper objectMapper = objectMapper(benchmark.format);
+            writer = objectMapper.writerFor(Book[].class);
+            reader = objectMapper.readerFor(Book[].class);
+            books = Catalog.books(catalogSize);
+            bytes = writer.writeValueAsBytes(books);
+        }
+    }
+
+    private static ObjectMapper objectMapper(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    @Benchmark
+    public byte[] serializeBook() throws IOException {
+        return bookWriter.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public Book deserializeBook() throws IOException {
+        return bookReader.readValue(bookBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog(CatalogState state) throws IOException {
+        return state.writer.writeValueAsBytes(state.books);
+    }
+
+    @Benchmark
+    public Book[] deserializeCatalog(CatalogState state) throws IOException {
+        return state.reader.readValue(state.bytes);
+    }
+}
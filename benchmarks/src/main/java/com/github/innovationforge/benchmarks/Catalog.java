@@ -0,0 +1,24 @@
+package com.github.innovationforge.benchmarks;
+
+import com.github.innovationforge.sra.model.Book;
+
+/**
+ * Builds catalogs of predictable books so every run serializes the same payloads.
+ */
+public final class Catalog {
+
+    private Catalog() {
+    }
+
+    public static Book book(long id) {
+        return new Book(id, "Title " + id, "Author " + (id % 1000), String.format("978-%010d", id));
+    }
+
+    public static Book[] books(int size) {
+        Book[] books = new Book[size];
+        for (int i = 0; i < size; i++) {
+            books[i] = book(i + 1);
+        }
+        return books;
+    }
+}
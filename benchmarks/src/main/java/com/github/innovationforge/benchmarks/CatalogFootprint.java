@@ -0,0 +1,40 @@
+package com.github.innovationforge.benchmarks;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookCatalog;
+import com.github.innovationforge.sra.repository.CompactBookCatalog;
+import com.github.innovationforge.sra.repository.SkipListBookCatalog;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the retained heap per book of each way of holding the catalog in memory, walking the object graph
+ * with JOL: {@code mvn -B exec:java -pl benchmarks -Dexec.mainClass=com.github.innovationforge.benchmarks.CatalogFootprint}
+ */
+public final class CatalogFootprint {
+
+    private CatalogFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Map<Long, Book> hashMap = new HashMap<>();
+        BookCatalog skipList = new SkipListBookCatalog();
+        BookCatalog compact = new CompactBookCatalog();
+        for (Book book : Catalog.books(size)) {
+            hashMap.put(book.getId(), book);
+            skipList.put(book);
+            compact.put(book);
+        }
+        report("HashMap<Long, Book>", hashMap, size);
+        report("SkipListBookCatalog", skipList, size);
+        report("CompactBookCatalog", compact, size);
+    }
+
+    private static void report(String name, Object catalog, int size) {
+        long bytes = GraphLayout.parseInstance(catalog).totalSize();
+        System.out.printf("%-20s %,d books: %,d bytes, %.1f bytes per book%n", name, size, bytes, (double) bytes / size);
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.innovationforge.benchmarks;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Starts the packaged application repeatedly in each startup mode against a {@link StubBackend} and reports the
+ * time until Spring Boot logs that it started and until the first {@code GET /api/books/1} is answered, both
+ * measured from process launch.
+ * <p>
+ * Modes, each skipped when its build output is missing:
+ * <ul>
+ *     <li>{@code jvm-dev} - the exec jar with the default profile, springdoc included</li>
+ *     <li>{@code jvm} - the exec jar with the prod profile</li>
+ *     <li>{@code aot} - the exec jar with the AOT-processed bean factory ({@code -Paot})</li>
+ *     <li>{@code cds} - the plain jar with the class-data sharing archive ({@code -Pcds}, with AOT when built
+ *     with {@code -Paot,cds})</li>
+ *     <li>{@code native} - the GraalVM executable ({@code -Pnative native:compile})</li>
+ * </ul>
+ * Options (all {@code --name=value}): {@code target} - the application's build directory, default
+ * {@code ../springboot-restapi-application/target}; {@code modes} - comma separated, default all;
+ * {@code runs} - starts per mode, default {@code 5}; {@code timeout} - per start, in seconds, default {@code 60}.
+ */
+public final class StartupComparison {
+
+    private static final String APPLICATION = "springboot-restapi-application";
+
+    private static final String MAIN_CLASS = "com.github.innovationforge.sra.SpringbootRestapiApplication";
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([\\d.]+) seconds");
+
+    private StartupComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path target = Path.of(options.getOrDefault("target", "../" + APPLICATION + "/target")).toAbsolutePath().normalize();
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "jvm-dev,jvm,aot,cds,native").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("timeout", "60")));
+
+        Map<String, List<String>> commands = new LinkedHashMap<>();
+        for (String mode : modes) {
+            List<String> command = command(mode.trim(), target);
+            if (command == null) {
+                System.out.printf("Skipping %s: not built in %s%n", mode, target);
+            } else {
+                commands.put(mode.trim(), command);
+            }
+        }
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        try (StubBackend backend = new StubBackend(1000, Jackson2ObjectMapperBuilder.json().build())) {
+            System.out.printf("%-8s %6s %14s %14s %20s %20s%n", "mode", "runs", "started (ms)", "", "first request (ms)", "");
+            System.out.printf("%-8s %6s %14s %14s %20s %20s%n", "", "", "median", "min", "median", "min");
+            for (Map.Entry<String, List<String>> mode : commands.entrySet()) {
+                long[] started = new long[runs];
+                long[] firstRequest = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    long[] result = start(mode.getValue(), backend.url(), httpClient, timeoutNanos);
+                    started[run] = result[0];
+                    firstRequest[run] = result[1];
+                }
+                Arrays.sort(started);
+                Arrays.sort(firstRequest);
+                System.out.printf("%-8s %6d %14d %14d %20d %20d%n", mode.getKey(), runs,
+                        started[runs / 2], started[0], firstRequest[runs / 2], firstRequest[0]);
+            }
+        }
+    }
+
+    // Launch command for a mode, or null when its build output is missing
+    private static List<String> command(String mode, Path target) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Path execJar = find(target, "-exec.jar");
+        Path plainJar = execJar == null ? null : target.resolve(execJar.getFileName().toString().replace("-exec.jar", ".jar"));
+        boolean aotBuilt = Files.isDirectory(target.resolve("spring-aot"));
+        Path archive = target.resolve("cds/application.jsa");
+        return switch (mode) {
+            case "jvm-dev" -> execJar == null ? null : List.of(java, "-jar", execJar.toString());
+            case "jvm" -> execJar == null ? null : List.of(java, "-jar", execJar.toString(), "--spring.profiles.active=prod");
+            case "aot" -> execJar == null || !aotBuilt ? null
+                    : List.of(java, "-Dspring.aot.enabled=true", "-jar", execJar.toString(), "--spring.profiles.active=prod");
+            case "cds" -> plainJar == null || !Files.exists(archive) ? null
+                    : List.of(java, "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off", "-Dspring.aot.enabled=" + aotBuilt,
+                    "-cp", plainJar + File.pathSeparator + target.resolve("cds/lib/*"), MAIN_CLASS,
+                    "--spring.profiles.active=prod");
+            case "native" -> Files.isExecutable(target.resolve(APPLICATION))
+                    ? List.of(target.resolve(APPLICATION).toString(), "--spring.profiles.active=prod") : null;
+            default -> throw new IllegalArgumentException("Unknown mode '" + mode + "'");
+        };
+    }
+
+    // Milliseconds from launch to the "Started" log line and to the first answered request
+    private static long[] start(List<String> command, String backendUrl, HttpClient httpClient, long timeoutNanos)
+            throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--backend.api.url=" + backendUrl);
+        arguments.add("--backend.replica.enabled=false");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books/1")).build();
+
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+        try {
+            CompletableFuture<Long> started = new CompletableFuture<>();
+            Thread reader = new Thread(() -> readOutput(process, launchedAt, started), "startup-output");
+            reader.setDaemon(true);
+            reader.start();
+            long firstRequest = -1;
+            while (firstRequest < 0) {
+                if (System.nanoTime() - launchedAt > timeoutNanos || !process.isAlive()) {
+                    throw new IllegalStateException("Application did not answer: " + String.join(" ", command));
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+                    }
+                } catch (ConnectException e) {
+                    Thread.sleep(5);
+                }
+            }
+            return new long[]{started.get(10, TimeUnit.SECONDS), firstRequest};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Keeps draining the output after the line is seen, so the application never blocks on a full pipe
+    private static void readOutput(Process process, long launchedAt, CompletableFuture<Long> started) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!started.isDone() && STARTED.matcher(line).find()) {
+                    started.complete(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt));
+                }
+            }
+            started.complete(-1L);
+        } catch (IOException e) {
+            started.completeExceptionally(e);
+        }
+    }
+
+    private static Path find(Path directory, String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).findFirst().orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
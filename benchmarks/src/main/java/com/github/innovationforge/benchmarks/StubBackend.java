@@ -0,0 +1,103 @@
+package com.github.innovationforge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the books backend. Responses are serialized once up front so the stub adds as
+ * little work (and allocation) as possible to the benchmarks that share its JVM.
+ */
+public class StubBackend implements AutoCloseable {
+
+    private static final String PATH = "/api/books";
+
+    static {
+        // Without TCP_NODELAY the separate header and body writes stall on delayed ACKs (~40ms per request)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final byte[] listing;
+
+    private final byte[][] books;
+
+    public StubBackend(int catalogSize, ObjectMapper objectMapper) throws IOException {
+        this.listing = objectMapper.writeValueAsBytes(Catalog.books(catalogSize));
+        this.books = new byte[catalogSize][];
+        for (int i = 0; i < catalogSize; i++) {
+            books[i] = objectMapper.writeValueAsBytes(Catalog.book(i + 1));
+        }
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext(PATH, this::handle);
+        this.server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> {
+                    if (path.equals(PATH)) {
+                        respond(exchange, 200, listing);
+                    } else {
+                        int id = parseId(path);
+                        if (id >= 1 && id <= books.length) {
+                            respond(exchange, 200, books[id - 1]);
+                        } else {
+                            exchange.sendResponseHeaders(404, -1);
+                        }
+                    }
+                }
+                case "POST", "PUT" -> {
+                    byte[] body;
+                    try (InputStream in = exchange.getRequestBody()) {
+                        body = in.readAllBytes();
+                    }
+                    respond(exchange, exchange.getRequestMethod().equals("POST") ? 201 : 200, body);
+                }
+                case "DELETE" -> exchange.sendResponseHeaders(204, -1);
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static int parseId(String path) {
+        try {
+            return Integer.parseInt(path.substring(PATH.length() + 1));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.innovationforge.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are scheduled at a fixed rate regardless of how quickly earlier ones
+ * complete, and each latency is measured from the scheduled send time. A stalled server therefore shows up as
+ * growing latency instead of silently lowering the offered load (coordinated omission).
+ */
+public class LoadGenerator {
+
+    private final List<HttpClient> httpClients;
+
+    private final String baseUrl;
+
+    private final WorkloadMix mix;
+
+    private final long idRange;
+
+    private final long seed;
+
+    private final Duration timeout;
+
+    /**
+     * Requests go round-robin over {@code httpClients}; an HTTP/2 client multiplexes everything over one
+     * connection, so several clients are needed to spread the load over several connections.
+     */
+    public LoadGenerator(List<HttpClient> httpClients, String baseUrl, WorkloadMix mix, long idRange, long seed, Duration timeout) {
+        this.httpClients = List.copyOf(httpClients);
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.idRange = idRange;
+        this.seed = seed;
+        this.timeout = timeout;
+    }
+
+    public PhaseResult run(int rate, Duration duration) {
+        Map<Operation, Recorder> corrected = new EnumMap<>(Operation.class);
+        Map<Operation, Recorder> service = new EnumMap<>(Operation.class);
+        Map<Operation, Map<String, LongAdder>> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            corrected.put(operation, new Recorder(3));
+            service.put(operation, new Recorder(3));
+            errors.put(operation, new ConcurrentHashMap<>());
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / intervalNanos;
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = mix.next(random);
+            long id = 1 + random.nextLong(idRange);
+            long sent = System.nanoTime();
+            HttpClient httpClient = httpClients.get((int) (i % httpClients.size()));
+            inFlight.add(httpClient.sendAsync(operation.request(baseUrl, id), HttpResponse.BodyHandlers.discarding())
+                    .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .handle((response, failure) -> {
+                        long completed = System.nanoTime();
+                        corrected.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(completed - scheduled));
+                        service.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+                        String cause = failure != null ? cause(failure)
+                                : response.statusCode() >= 400 ? String.valueOf(response.statusCode()) : null;
+                        if (cause != null) {
+                            errors.get(operation).computeIfAbsent(cause, key -> new LongAdder()).increment();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Operation, Histogram> correctedHistograms = new EnumMap<>(Operation.class);
+        Map<Operation, Histogram> serviceHistograms = new EnumMap<>(Operation.class);
+        Map<Operation, Map<String, Long>> errorCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = corrected.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                correctedHistograms.put(operation, histogram);
+                serviceHistograms.put(operation, service.get(operation).getIntervalHistogram());
+                Map<String, Long> causes = new TreeMap<>();
+                errors.get(operation).forEach((cause, count) -> causes.put(cause, count.sum()));
+                errorCounts.put(operation, causes);
+            }
+        }
+        return new PhaseResult(rate, elapsedSeconds, correctedHistograms, serviceHistograms, errorCounts);
+    }
+
+    // The status code of an error response, or the exception class of a request that got no response
+    private static String cause(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause.getClass().getSimpleName();
+    }
+}
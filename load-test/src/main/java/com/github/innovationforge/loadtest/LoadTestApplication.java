@@ -0,0 +1,144 @@
+package com.github.innovationforge.loadtest;
+
+import com.github.innovationforge.sra.SpringbootRestapiApplication;
+import com.github.innovationforge.wsp.WiremockStubProviderApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Steps through increasing request rates and reports throughput, corrected latency percentiles and error
+ * rates for each, ending with the highest rate the service sustained.
+ * <p>
+ * Options (all {@code --name=value}):
+ * <ul>
+ *     <li>{@code target} - base URL of an already running application; when absent the WireMock stub and the
+ *     application are started in this JVM</li>
+ *     <li>{@code rates} - comma separated requests per second, default {@code 50,100,200,400}</li>
+ *     <li>{@code duration} - length of each rate step, default {@code 30s}</li>
+ *     <li>{@code warmup} - unrecorded run at the first rate, default {@code 10s}</li>
+ *     <li>{@code mix} - operation weights, default {@code GET:60,LIST:10,POST:10,PUT:10,DELETE:10}</li>
+ *     <li>{@code ids} - book ids are drawn uniformly from 1..ids, default {@code 1000}</li>
+ *     <li>{@code seed} - random seed for the request sequence, default {@code 42}</li>
+ *     <li>{@code timeout} - per request timeout, counted as an error, default {@code 10s}</li>
+ *     <li>{@code protocol} - {@code HTTP_1_1} or {@code HTTP_2} (h2c), used both by the load generator and, when
+ *     started here, by the application towards the stub, default {@code HTTP_1_1}</li>
+ *     <li>{@code connections} - HTTP clients the load generator spreads its requests over, default {@code 1}; with
+ *     {@code HTTP_2} each multiplexes its streams over a single connection, so the server's
+ *     {@code server.http2.max-concurrent-streams} caps what one of them can have in flight</li>
+ * </ul>
+ * Run once per protocol to compare them; on Linux each rate step also reports the connections the application
+ * and the stub were holding.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parse(args);
+        List<Integer> rates = new ArrayList<>();
+        for (String rate : options.getOrDefault("rates", "50,100,200,400").split(",")) {
+            rates.add(Integer.parseInt(rate.trim()));
+        }
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        WorkloadMix mix = WorkloadMix.parse(options.getOrDefault("mix", "GET:60,LIST:10,POST:10,PUT:10,DELETE:10"));
+        long ids = Long.parseLong(options.getOrDefault("ids", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "10s"));
+        HttpClient.Version protocol = HttpClient.Version.valueOf(options.getOrDefault("protocol", "HTTP_1_1"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", "1"));
+
+        List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+        try {
+            String target = options.get("target");
+            int backendPort = -1;
+            if (target == null) {
+                backendPort = freePort();
+                target = startLocally(contexts, backendPort, protocol);
+            }
+            int targetPort = URI.create(target).getPort();
+            List<HttpClient> httpClients = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                httpClients.add(HttpClient.newBuilder()
+                        .version(protocol)
+                        .connectTimeout(timeout)
+                        .build());
+            }
+            LoadGenerator generator = new LoadGenerator(httpClients, target, mix, ids, seed, timeout);
+
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up at %d/s for %s%n", rates.get(0), DurationStyle.SIMPLE.print(warmup));
+                generator.run(rates.get(0), warmup);
+            }
+            Integer sustained = null;
+            for (int rate : rates) {
+                PhaseResult result = generator.run(rate, duration);
+                result.print(System.out);
+                printConnections(targetPort, backendPort);
+                if (result.isSustained()) {
+                    sustained = rate;
+                }
+            }
+            System.out.println(sustained == null
+                    ? "No rate was sustained"
+                    : "Highest sustained rate: " + sustained + "/s");
+        } finally {
+            contexts.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    private static String startLocally(List<ConfigurableApplicationContext> contexts, int stubPort, HttpClient.Version protocol) {
+        contexts.add(new SpringApplicationBuilder(WiremockStubProviderApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--stub.server.port=" + stubPort,
+                        "--stub.server.path=wiremock",
+                        "--logging.level.com.github.innovationforge=WARN"));
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(SpringbootRestapiApplication.class)
+                .run("--server.port=0",
+                        "--backend.api.url=http://localhost:" + stubPort + "/api/books",
+                        "--http.connection.version=" + protocol,
+                        "--logging.level.com.github.innovationforge=WARN");
+        contexts.add(app);
+        return "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api/books";
+    }
+
+    private static void printConnections(int targetPort, int backendPort) {
+        int inbound = TcpConnections.established(targetPort);
+        if (inbound < 0) {
+            return;
+        }
+        System.out.printf("  connections: %d to the application", inbound);
+        if (backendPort > 0) {
+            System.out.printf(", %d from the application to the stub", TcpConnections.established(backendPort));
+        }
+        System.out.println();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.innovationforge.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * The requests the load generator can send against {@code /api/books}.
+ */
+public enum Operation {
+    LIST,
+    GET,
+    POST,
+    PUT,
+    DELETE;
+
+    public HttpRequest request(String baseUrl, long id) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder();
+        return switch (this) {
+            case LIST -> builder.uri(URI.create(baseUrl)).GET().build();
+            case GET -> builder.uri(URI.create(baseUrl + "/" + id)).GET().build();
+            case POST -> builder.uri(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(book(id)))
+                    .build();
+            case PUT -> builder.uri(URI.create(baseUrl + "/" + id))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(book(id)))
+                    .build();
+            case DELETE -> builder.uri(URI.create(baseUrl + "/" + id)).DELETE().build();
+        };
+    }
+
+    private static String book(long id) {
+        return "{\"id\":" + id + ",\"title\":\"Book" + id + "\",\"author\":\"Author" + id + "\",\"isbn\":\"ISBN" + id + "\"}";
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.innovationforge.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Outcome of driving one target rate. Latencies are recorded in microseconds; the corrected histogram
+ * measures from the time a request was scheduled to be sent, the service histogram from when it actually was.
+ * Errors are counted per operation and cause: the status code of an error response, or the exception class
+ * of a request that got no response.
+ */
+public class PhaseResult {
+
+    // A phase counts as sustained when it completes at least this share of the target rate
+    private static final double SUSTAINED_RATIO = 0.95;
+
+    private static final double SUSTAINED_ERROR_RATE = 0.01;
+
+    private final int targetRate;
+
+    private final double elapsedSeconds;
+
+    private final Map<Operation, Histogram> corrected;
+
+    private final Map<Operation, Histogram> service;
+
+    private final Map<Operation, Map<String, Long>> errors;
+
+    public PhaseResult(int targetRate, double elapsedSeconds, Map<Operation, Histogram> corrected,
+                       Map<Operation, Histogram> service, Map<Operation, Map<String, Long>> errors) {
+        this.targetRate = targetRate;
+        this.elapsedSeconds = elapsedSeconds;
+        this.corrected = corrected;
+        this.service = service;
+        this.errors = errors;
+    }
+
+    public int getTargetRate() {
+        return targetRate;
+    }
+
+    public long getCompleted() {
+        return corrected.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public long getErrors() {
+        return errors.keySet().stream().mapToLong(this::getErrors).sum();
+    }
+
+    public long getErrors(Operation operation) {
+        return getErrorCauses(operation).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Map<String, Long> getErrorCauses(Operation operation) {
+        return errors.getOrDefault(operation, Map.of());
+    }
+
+    public double getThroughput() {
+        return getCompleted() / elapsedSeconds;
+    }
+
+    public double getErrorRate() {
+        long completed = getCompleted();
+        return completed == 0 ? 0 : (double) getErrors() / completed;
+    }
+
+    public Histogram getCorrected() {
+        Histogram all = new Histogram(3);
+        corrected.values().forEach(all::add);
+        return all;
+    }
+
+    public boolean isSustained() {
+        return getThroughput() >= targetRate * SUSTAINED_RATIO && getErrorRate() <= SUSTAINED_ERROR_RATE;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("target=%d/s throughput=%.1f/s completed=%d errors=%d (%.2f%%) %s%n",
+                targetRate, getThroughput(), getCompleted(), getErrors(), getErrorRate() * 100,
+                isSustained() ? "SUSTAINED" : "SATURATED");
+        out.printf("  %-8s %8s %7s %9s %9s %9s %9s %9s   %9s %9s%n",
+                "op", "count", "errors", "p50", "p90", "p99", "p99.9", "max", "svc p50", "svc p99");
+        for (Operation operation : Operation.values()) {
+            if (corrected.containsKey(operation)) {
+                printRow(out, operation.name(), corrected.get(operation), service.get(operation), getErrors(operation));
+            }
+        }
+        Histogram allService = new Histogram(3);
+        service.values().forEach(allService::add);
+        printRow(out, "all", getCorrected(), allService, getErrors());
+        for (Operation operation : Operation.values()) {
+            Map<String, Long> causes = getErrorCauses(operation);
+            if (!causes.isEmpty()) {
+                StringBuilder line = new StringBuilder();
+                causes.forEach((cause, count) -> line.append(' ').append(cause).append('=').append(count));
+                out.printf("  %-8s errors:%s%n", operation.name(), line);
+            }
+        }
+        out.println("  (latencies in ms; p50..max are corrected for coordinated omission, svc is time from actual send)");
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram corrected, Histogram service, long errors) {
+        out.printf("  %-8s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f   %9.2f %9.2f%n",
+                name, corrected.getTotalCount(), errors,
+                millis(corrected, 50), millis(corrected, 90), millis(corrected, 99), millis(corrected, 99.9),
+                corrected.getMaxValue() / 1000.0,
+                millis(service, 50), millis(service, 99));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.innovationforge.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Counts established TCP connections accepted on a local port, read from the Linux {@code /proc/net/tcp} tables,
+ * to compare how many connections each protocol needs for the same load.
+ */
+public final class TcpConnections {
+
+    private static final List<Path> TABLES = List.of(Path.of("/proc/net/tcp"), Path.of("/proc/net/tcp6"));
+
+    private static final String ESTABLISHED = "01";
+
+    private TcpConnections() {
+    }
+
+    /**
+     * Returns the connections accepted on {@code port}, or -1 where the tables are not available.
+     */
+    public static int established(int port) {
+        if (!Files.isReadable(TABLES.get(0))) {
+            return -1;
+        }
+        int count = 0;
+        for (Path table : TABLES) {
+            try {
+                for (String line : Files.readAllLines(table)) {
+                    if (isEstablishedOn(line, port)) {
+                        count++;
+                    }
+                }
+            } catch (IOException e) {
+                // tcp6 is missing when IPv6 is disabled
+            }
+        }
+        return count;
+    }
+
+    // Lines look like "0: 0100007F:1F90 0100007F:C2A4 01 ...": local address:port, remote address:port, state
+    static boolean isEstablishedOn(String line, int port) {
+        String[] fields = line.trim().split("\\s+");
+        if (fields.length < 4 || !fields[3].equals(ESTABLISHED)) {
+            return false;
+        }
+        int separator = fields[1].lastIndexOf(':');
+        try {
+            return separator > 0 && Integer.parseInt(fields[1].substring(separator + 1), 16) == port;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.innovationforge.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for PhaseResult")
+public class PhaseResultTest {
+
+    @Test
+    @DisplayName("Should count and print errors per operation and cause")
+    public void testErrorBreakdown() {
+        Histogram latencies = new Histogram(3);
+        for (int i = 0; i < 100; i++) {
+            latencies.recordValue(1_000);
+        }
+        Map<String, Long> causes = new TreeMap<>(Map.of("503", 3L, "HttpTimeoutException", 2L));
+        PhaseResult result = new PhaseResult(100, 1.0, Map.of(Operation.GET, latencies), Map.of(Operation.GET, latencies),
+                Map.of(Operation.GET, causes));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        result.print(new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        assertEquals(5, result.getErrors());
+        assertEquals(5, result.getErrors(Operation.GET));
+        assertEquals(0, result.getErrors(Operation.POST));
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("GET      errors: 503=3 HttpTimeoutException=2"));
+    }
+}
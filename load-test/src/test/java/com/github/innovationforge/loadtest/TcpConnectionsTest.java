@@ -0,0 +1,21 @@
+package com.github.innovationforge.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for TcpConnections")
+public class TcpConnectionsTest {
+
+    @Test
+    @DisplayName("Should count only established connections accepted on the port")
+    public void testIsEstablishedOn() {
+        assertTrue(TcpConnections.isEstablishedOn("   0: 0100007F:1F90 0100007F:C2A4 01 00000000:00000000 00:00000000 00000000", 8080));
+        assertTrue(TcpConnections.isEstablishedOn("   1: 00000000000000000000000001000000:1F90 00000000000000000000000001000000:C2A4 01 0", 8080));
+        assertFalse(TcpConnections.isEstablishedOn("   2: 00000000:1F90 00000000:0000 0A 00000000:00000000", 8080));
+        assertFalse(TcpConnections.isEstablishedOn("   3: 0100007F:C2A4 0100007F:1F90 01 00000000:00000000", 8080));
+        assertFalse(TcpConnections.isEstablishedOn("  sl  local_address rem_address   st tx_queue", 8080));
+    }
+}
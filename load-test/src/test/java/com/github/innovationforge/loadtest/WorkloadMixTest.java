@@ -0,0 +1,39 @@
+package com.github.innovationforge.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests for WorkloadMix")
+public class WorkloadMixTest {
+
+    @Test
+    @DisplayName("Should pick operations in proportion to their weights")
+    public void testWeights() {
+        WorkloadMix mix = WorkloadMix.parse("get:75, POST:25, DELETE:0");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 10_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(7500, counts.get(Operation.GET), 250);
+        assertEquals(2500, counts.get(Operation.POST), 250);
+        assertFalse(counts.containsKey(Operation.DELETE));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed specs")
+    public void testInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("GET"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("PATCH:10"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("GET:0"));
+    }
+}
@@ -3,9 +3,15 @@ package com.github.innovationforge.sra.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "backend.api")
 public class ApiProperties {
     private String url;
+    private boolean paginationSupported;
+    private long revalidationCacheSize = 10_000;
+    // Format requested for responses from the backend: application/json, application/x-jackson-smile or application/cbor
+    private MediaType mediaType = MediaType.APPLICATION_JSON;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.github.innovationforge.sra.config;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookRepositoryImpl;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection a native image needs for the backend payloads, which Jackson binds outside of any controller
+ * signature and so are not found by AOT processing on their own.
+ */
+public class BackendRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Book.class, Book[].class);
+        hints.reflection().registerType(TypeReference.of(BookRepositoryImpl.class.getName() + "$BookChange"),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.batch")
+public class BookBatchProperties {
+    private boolean enabled;
+    private Duration window = Duration.ofMillis(5);
+    private int maxBatchSize = 50;
+    private int parallelism = 8;
+}
@@ -0,0 +1,17 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.cache")
+public class BookCacheProperties {
+    private boolean enabled;
+    private long maximumSize = 10_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    private Duration refreshAfterWrite = Duration.ofMinutes(1);
+}
@@ -0,0 +1,12 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.coalescing")
+public class BookCoalescingProperties {
+    private boolean enabled;
+}
@@ -0,0 +1,17 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.import")
+public class BookImportProperties {
+    private int batchSize = 1_000;
+    // Backend writes in flight at once for a single upload
+    private int parallelism = 8;
+    private int maxErrorsPerBatch = 10;
+    // Batches with rejected or failed records listed in the summary; the totals always cover the whole upload
+    private int maxReportedBatches = 100;
+}
@@ -0,0 +1,27 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.replica")
+public class BookReplicaProperties {
+    private boolean enabled;
+    // Delay before the first catalog sync after startup
+    private Duration initialSyncDelay = Duration.ZERO;
+    // Delay between the end of one catalog sync and the start of the next
+    private Duration syncInterval = Duration.ofSeconds(5);
+    // Snapshot file read on startup and rewritten after syncs; none when unset
+    private Path snapshotPath;
+    // Minimum time between snapshot writes
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+    // Hold the books in packed columns rather than as objects: several times smaller, decoded on every read
+    private boolean compact;
+    // Time allowed on close for a running sync and snapshot write to finish before they are interrupted
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
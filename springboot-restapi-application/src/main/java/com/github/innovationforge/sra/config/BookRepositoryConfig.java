@@ -0,0 +1,80 @@
+package com.github.innovationforge.sra.config;
+
+import com.github.innovationforge.sra.repository.BatchingBookRepository;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.repository.BookRepositoryImpl;
+import com.github.innovationforge.sra.repository.CachingBookRepository;
+import com.github.innovationforge.sra.repository.CoalescingBookRepository;
+import com.github.innovationforge.sra.repository.ReplicatedBookRepository;
+import com.github.innovationforge.sra.repository.ResilientBookRepository;
+import com.github.innovationforge.sra.repository.WriteBehindBookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+@Configuration
+@RequiredArgsConstructor
+public class BookRepositoryConfig implements DisposableBean {
+
+    private final BookCacheProperties cacheProperties;
+
+    private final BookCoalescingProperties coalescingProperties;
+
+    private final BookBatchProperties batchProperties;
+
+    private final BookWriteBehindProperties writeBehindProperties;
+
+    private final BookResilienceProperties resilienceProperties;
+
+    private final BookReplicaProperties replicaProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Deque<AutoCloseable> closeables = new ArrayDeque<>();
+
+    @Bean
+    @Primary
+    public BookRepository bookRepository(BookRepositoryImpl bookRepositoryImpl) {
+        BookRepository repository = bookRepositoryImpl;
+        // Innermost, so it sees each real backend call once, after batching and coalescing have merged them
+        if (resilienceProperties.isEnabled()) {
+            repository = new ResilientBookRepository(repository, resilienceProperties, meterRegistry);
+        }
+        if (batchProperties.isEnabled()) {
+            repository = register(new BatchingBookRepository(repository, batchProperties, meterRegistry));
+        }
+        if (coalescingProperties.isEnabled()) {
+            repository = new CoalescingBookRepository(repository, meterRegistry);
+        }
+        if (cacheProperties.isEnabled()) {
+            repository = new CachingBookRepository(repository, cacheProperties, meterRegistry);
+        }
+        // Outermost, so queued writes still pass through the cache on their way to the backend
+        if (writeBehindProperties.isEnabled()) {
+            repository = register(new WriteBehindBookRepository(repository, writeBehindProperties, meterRegistry));
+        }
+        // Answers reads before anything below is consulted; closed first, so its last snapshot follows the queued writes
+        if (replicaProperties.isEnabled()) {
+            repository = register(new ReplicatedBookRepository(repository, replicaProperties, meterRegistry));
+        }
+        return repository;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        while (!closeables.isEmpty()) {
+            closeables.pop().close();
+        }
+    }
+
+    private <T extends AutoCloseable> T register(T closeable) {
+        closeables.push(closeable);
+        return closeable;
+    }
+}
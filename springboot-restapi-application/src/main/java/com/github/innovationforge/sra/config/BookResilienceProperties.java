@@ -0,0 +1,41 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.resilience")
+public class BookResilienceProperties {
+    private boolean enabled;
+    // Concurrent backend calls per repository method; methods missing from bulkheads get bulkheadDefault
+    private int bulkheadDefault = 20;
+    private Map<String, Integer> bulkheads = new HashMap<>();
+    // Time a call may wait for a free bulkhead slot before it is rejected
+    private Duration bulkheadMaxWait = Duration.ofMillis(100);
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 80;
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+    // The listing calls (findAll, streamAll, findPage, findChanges) take as long as the catalog is big, so they have
+    // their own circuit breaker with this slow-call threshold and are not counted against the adaptive limit
+    private Duration listingSlowCallDuration = Duration.ofSeconds(30);
+    private int slidingWindowSize = 50;
+    private int minimumNumberOfCalls = 20;
+    private Duration waitInOpenState = Duration.ofSeconds(10);
+    private int permittedCallsInHalfOpenState = 5;
+    // AIMD concurrency limit across the single-book and write calls: +1 per limit's worth of fast calls, times backoffRatio on a
+    // failure or a call slower than latencyThreshold
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    private double backoffRatio = 0.9;
+    private Duration latencyThreshold = Duration.ofMillis(500);
+    // Last successful reads kept to answer from while the backend is unavailable, for at most staleTtl
+    private long staleCacheSize = 10_000;
+    private Duration staleTtl = Duration.ofMinutes(10);
+}
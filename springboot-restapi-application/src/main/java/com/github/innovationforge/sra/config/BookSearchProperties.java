@@ -0,0 +1,17 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.search")
+public class BookSearchProperties {
+    // Build the search indexes from the backend listing on startup; search answers 503 until they are built
+    private boolean enabled;
+    // How often the indexes are rebuilt from the backend, picking up writes made through other nodes
+    private Duration refreshInterval = Duration.ofMinutes(10);
+}
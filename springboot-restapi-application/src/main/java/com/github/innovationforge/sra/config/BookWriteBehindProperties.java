@@ -0,0 +1,29 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backend.write-behind")
+public class BookWriteBehindProperties {
+    private boolean enabled;
+    private int queueCapacity = 1_000;
+    // Backend writes in flight at once
+    private int parallelism = 8;
+    private Overflow overflow = Overflow.REJECT;
+    // How long a BLOCK-ing caller waits for queue space before the write is rejected anyway
+    private Duration blockTimeout = Duration.ofSeconds(1);
+    // How long shutdown waits for queued and in-flight writes
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    public enum Overflow {
+        // Fail the write straight away, surfaced to clients as 429 Too Many Requests
+        REJECT,
+        // Hold the caller until there is room in the queue or the block timeout passes
+        BLOCK
+    }
+}
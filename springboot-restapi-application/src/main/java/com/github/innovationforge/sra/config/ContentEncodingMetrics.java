@@ -0,0 +1,154 @@
+package com.github.innovationforge.sra.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponseInterceptor;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Measures what response compression saves and costs on the backend client. Compressed entities are counted
+ * twice: as received on the wire, before the client's content decoder, and after decoding. The time spent
+ * inside the decoder, excluding time waiting for the network, is recorded per encoding.
+ */
+public class ContentEncodingMetrics {
+
+    private static final String WIRE_ENTITY = ContentEncodingMetrics.class.getName() + ".wire";
+
+    private final MeterRegistry meterRegistry;
+
+    public ContentEncodingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs with the protocol interceptors, which see the entity before it is decoded.
+     */
+    public HttpResponseInterceptor wireInterceptor() {
+        return (response, entityDetails, context) -> {
+            Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+            if (encoding != null && response instanceof ClassicHttpResponse classicResponse && classicResponse.getEntity() != null) {
+                CountingEntity wire = new CountingEntity(classicResponse.getEntity(), encoding.getValue(), null);
+                classicResponse.setEntity(wire);
+                context.setAttribute(WIRE_ENTITY, wire);
+            }
+        };
+    }
+
+    /**
+     * Must be the outermost exec interceptor, so it sees the entity after the content decoder.
+     */
+    public ExecChainHandler decodedInterceptor() {
+        return (request, scope, chain) -> {
+            ClassicHttpResponse response = chain.proceed(request, scope);
+            if (scope.clientContext.getAttribute(WIRE_ENTITY) instanceof CountingEntity wire && response.getEntity() != null) {
+                response.setEntity(new CountingEntity(response.getEntity(), wire.encoding, (decodedBytes, decodedNanos) ->
+                        record(wire.encoding, wire.bytes, decodedBytes, decodedNanos - wire.nanos)));
+            }
+            return response;
+        };
+    }
+
+    private void record(String encoding, long wireBytes, long decodedBytes, long decodeNanos) {
+        DistributionSummary.builder("backend.response.wire.size")
+                .description("Compressed size of backend responses as received")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry)
+                .record(wireBytes);
+        DistributionSummary.builder("backend.response.decoded.size")
+                .description("Size of compressed backend responses after decoding")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry)
+                .record(decodedBytes);
+        Timer.builder("backend.response.decode")
+                .description("Time spent decoding compressed backend responses")
+                .tag("encoding", encoding)
+                .register(meterRegistry)
+                .record(Math.max(decodeNanos, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private static class CountingEntity extends HttpEntityWrapper {
+
+        private final String encoding;
+
+        private final BiConsumer<Long, Long> onComplete;
+
+        private long bytes;
+
+        private long nanos;
+
+        private boolean completed;
+
+        CountingEntity(HttpEntity entity, String encoding, BiConsumer<Long, Long> onComplete) {
+            super(entity);
+            this.encoding = encoding;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+
+                @Override
+                public int read() throws IOException {
+                    long start = System.nanoTime();
+                    int b = super.read();
+                    nanos += System.nanoTime() - start;
+                    if (b < 0) {
+                        complete();
+                    } else {
+                        bytes++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    long start = System.nanoTime();
+                    int n = super.read(buffer, offset, length);
+                    nanos += System.nanoTime() - start;
+                    if (n < 0) {
+                        complete();
+                    } else {
+                        bytes += n;
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    complete();
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(outStream);
+            }
+        }
+
+        private void complete() {
+            if (!completed && onComplete != null) {
+                completed = true;
+                onComplete.accept(bytes, nanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.innovationforge.sra.config;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+public class Http2ServerConfig {
+
+    private final Http2ServerProperties http2ServerProperties;
+
+    // Runs after Spring Boot has added the HTTP/2 upgrade protocol for server.http2.enabled
+    @Bean
+    public TomcatConnectorCustomizer http2StreamLimits() {
+        return connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(http2ServerProperties.getMaxConcurrentStreams());
+                    http2.setMaxConcurrentStreamExecution(http2ServerProperties.getMaxConcurrentStreamExecution());
+                }
+            }
+        };
+    }
+}
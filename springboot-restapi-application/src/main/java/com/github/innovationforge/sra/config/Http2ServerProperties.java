@@ -0,0 +1,25 @@
+package com.github.innovationforge.sra.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tomcat's HTTP/2 stream limits, which Spring Boot's {@code server.http2} does not expose. A client that
+ * multiplexes over few connections, such as the JDK client, fails requests beyond maxConcurrentStreams outright
+ * instead of queueing them.
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "server.http2")
+public class Http2ServerProperties {
+    // Streams a client may have open on one connection; Tomcat's default is 100
+    @Min(1)
+    private int maxConcurrentStreams = 1000;
+    // Streams of one connection processed at once; the others wait for a request thread. Tomcat's default is 20
+    @Min(1)
+    private int maxConcurrentStreamExecution = 200;
+}
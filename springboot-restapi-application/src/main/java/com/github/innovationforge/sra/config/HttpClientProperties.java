@@ -1,12 +1,67 @@
 package com.github.innovationforge.sra.config;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Data
+@Validated
 @Configuration
-@ConfigurationProperties(prefix = "http.connection")
+@ConfigurationProperties(prefix = "http.connection", ignoreUnknownFields = false)
 public class HttpClientProperties {
-    private int maxConnTotal;
-    private int maxConnPerRoute;
-}
\ No newline at end of file
+    @Min(1)
+    private int maxConnTotal = 100;
+    @Min(1)
+    private int maxConnPerRoute = 20;
+    // Time allowed to establish the TCP connection
+    @NotNull
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    // Maximum inactivity between two data packets on an open connection
+    @NotNull
+    private Duration socketTimeout = Duration.ofSeconds(10);
+    // Time allowed for the backend to start answering a request
+    @NotNull
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    // Time a request may wait to lease a connection from the pool
+    @NotNull
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    // Connections are closed after this age, even if they are still healthy
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(5);
+    // Keep-alive applied when the backend does not send a Keep-Alive header
+    @NotNull
+    private Duration keepAlive = Duration.ofSeconds(30);
+    // Connections idle for longer than this are closed by the background evictor
+    @NotNull
+    private Duration idleEviction = Duration.ofSeconds(30);
+    // Pooled connections idle for longer than this are checked for staleness before reuse
+    @NotNull
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    @NotNull
+    private PoolConcurrencyPolicy poolConcurrencyPolicy = PoolConcurrencyPolicy.STRICT;
+    // Sends Accept-Encoding and transparently decodes gzip, deflate and (with org.brotli:dec) br responses; HTTP/1.1 only
+    private boolean compression = true;
+    // HTTP_1_1 uses the pooled Apache client above; HTTP_2 multiplexes requests over JDK clients instead, as h2c
+    // for http:// backends and h2 (negotiated with ALPN) for https:// ones. In HTTP_2 mode only connectTimeout and
+    // responseTimeout apply: the pool sizes and policy, socketTimeout, connectionRequestTimeout, timeToLive,
+    // keepAlive, idleEviction, validateAfterInactivity and compression are Apache client settings and are ignored,
+    // and there are no backend.pool.connections gauges
+    @NotNull
+    private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+    // HTTP/2 connections per backend that requests are spread over
+    @Min(1)
+    private int http2Connections = 2;
+
+    @AssertTrue(message = "maxConnPerRoute must not exceed maxConnTotal")
+    public boolean isPerRouteWithinTotal() {
+        return maxConnPerRoute <= maxConnTotal;
+    }
+}
@@ -1,34 +1,182 @@
 package com.github.innovationforge.sra.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
 @Configuration
 @RequiredArgsConstructor
-public class RestClientConfig {
+@ImportRuntimeHints(BackendRuntimeHints.class)
+public class RestClientConfig implements DisposableBean {
 
     private final HttpClientProperties httpClientProperties;
 
+    // The JDK clients created here, and the executors they run on, released on shutdown
+    private final List<HttpClient> jdkClients = new ArrayList<>();
+
+    private final List<ExecutorService> jdkExecutors = new ArrayList<>();
+
     @Bean
-    public RestClient restClient() {
-        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+    @Conditional(PooledClient.class)
+    public PoolingHttpClientConnectionManager connectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
                 .setMaxConnTotal(httpClientProperties.getMaxConnTotal())
                 .setMaxConnPerRoute(httpClientProperties.getMaxConnPerRoute())
+                .setPoolConcurrencyPolicy(httpClientProperties.getPoolConcurrencyPolicy())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(httpClientProperties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(httpClientProperties.getSocketTimeout()))
+                        .setTimeToLive(TimeValue.of(httpClientProperties.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.of(httpClientProperties.getValidateAfterInactivity()))
+                        .build())
                 .build();
+    }
 
-        CloseableHttpClient httpClient = HttpClients.custom()
-                .setConnectionManager(connectionManager)
-                .build();
+    @Bean
+    public RestClient restClient(MeterRegistry meterRegistry) {
+        if (httpClientProperties.getVersion() == HttpClient.Version.HTTP_2) {
+            return RestClient.builder().requestFactory(multiplexedRequestFactory()).build();
+        }
+        ContentEncodingMetrics contentEncodingMetrics = new ContentEncodingMetrics(meterRegistry);
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(httpClientProperties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(httpClientProperties.getResponseTimeout()))
+                        .setConnectionKeepAlive(TimeValue.of(httpClientProperties.getKeepAlive()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(httpClientProperties.getIdleEviction()))
+                .addResponseInterceptorFirst(contentEncodingMetrics.wireInterceptor())
+                .addExecInterceptorFirst("content-encoding-metrics", contentEncodingMetrics.decodedInterceptor());
+        if (!httpClientProperties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        CloseableHttpClient httpClient = builder.build();
 
         HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
 
         return RestClient.builder().requestFactory(requestFactory).build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    @Conditional(PooledClient.class)
+    public MeterBinder connectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            poolGauge(registry, connectionManager, "leased", PoolStats::getLeased);
+            poolGauge(registry, connectionManager, "pending", PoolStats::getPending);
+            poolGauge(registry, connectionManager, "available", PoolStats::getAvailable);
+            poolGauge(registry, connectionManager, "max", PoolStats::getMax);
+        };
+    }
+
+    @Bean
+    public HttpClient asyncHttpClient(Environment environment) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(httpClientProperties.getVersion())
+                .connectTimeout(httpClientProperties.getConnectTimeout());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("backend-client-");
+            executor.setVirtualThreads(true);
+            builder.executor(executor);
+        } else {
+            builder.executor(jdkExecutor("backend-client-"));
+        }
+        return jdkClient(builder);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (HttpClient client : jdkClients) {
+            // HttpClient is AutoCloseable from JDK 21; before that it stops once unreachable and its executor is gone
+            if (client instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        jdkExecutors.forEach(ExecutorService::shutdownNow);
+    }
+
+    // The JDK client keeps one HTTP/2 connection per backend and multiplexes every request over it as a stream, so
+    // requests are spread round-robin over a few clients to use that many connections
+    private ClientHttpRequestFactory multiplexedRequestFactory() {
+        JdkClientHttpRequestFactory[] factories = new JdkClientHttpRequestFactory[httpClientProperties.getHttp2Connections()];
+        for (int i = 0; i < factories.length; i++) {
+            factories[i] = new JdkClientHttpRequestFactory(jdkClient(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(httpClientProperties.getConnectTimeout())
+                    .executor(jdkExecutor("backend-h2-"))));
+            factories[i].setReadTimeout(httpClientProperties.getResponseTimeout());
+        }
+        AtomicInteger next = new AtomicInteger();
+        return (uri, method) -> factories[Math.floorMod(next.getAndIncrement(), factories.length)].createRequest(uri, method);
+    }
+
+    private ExecutorService jdkExecutor(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newCachedThreadPool(threadFactory);
+        jdkExecutors.add(executor);
+        return executor;
+    }
+
+    private HttpClient jdkClient(HttpClient.Builder builder) {
+        HttpClient client = builder.build();
+        jdkClients.add(client);
+        return client;
+    }
+
+    private static void poolGauge(MeterRegistry registry, PoolingHttpClientConnectionManager connectionManager, String state,
+                                  ToIntFunction<PoolStats> stat) {
+        Gauge.builder("backend.pool.connections", connectionManager, manager -> stat.applyAsInt(manager.getTotalStats()))
+                .description("Connections in the backend HTTP client pool")
+                .tag("state", state)
+                .register(registry);
+    }
+
+    // The Apache pool only exists for HTTP/1.1; bound like the properties, so a lower-case version matches too
+    static class PooledClient implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return Binder.get(context.getEnvironment())
+                    .bind("http.connection.version", HttpClient.Version.class)
+                    .orElse(HttpClient.Version.HTTP_1_1) == HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
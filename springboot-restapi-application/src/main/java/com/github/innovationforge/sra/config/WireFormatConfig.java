@@ -0,0 +1,26 @@
+package com.github.innovationforge.sra.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary converters built from the application's object mapper, so they replace the defaults Spring MVC would
+ * otherwise create with a plain mapper. They keep their place after the JSON converter, which leaves JSON as the
+ * response format unless a client asks for Smile or CBOR in its Accept header.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(WireFormats.objectMapper(objectMapper, WireFormats.APPLICATION_SMILE));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(WireFormats.objectMapper(objectMapper, WireFormats.APPLICATION_CBOR));
+    }
+}
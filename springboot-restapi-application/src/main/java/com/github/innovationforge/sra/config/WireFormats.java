@@ -0,0 +1,40 @@
+package com.github.innovationforge.sra.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Media types the books API can be exchanged in. JSON is the default; Smile and CBOR are binary encodings of the
+ * same Jackson data model, so the mappings on {@code Book} apply unchanged and only the parser differs.
+ */
+public final class WireFormats {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+
+    public static final List<MediaType> SUPPORTED = List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE, APPLICATION_CBOR);
+
+    private WireFormats() {
+    }
+
+    /**
+     * Returns a copy of the given JSON mapper, with its modules and features, that reads and writes the given media type.
+     */
+    public static ObjectMapper objectMapper(ObjectMapper jsonMapper, MediaType mediaType) {
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+            return jsonMapper;
+        }
+        if (APPLICATION_SMILE.equalsTypeAndSubtype(mediaType)) {
+            return jsonMapper.copyWith(new SmileFactory());
+        }
+        if (APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+            return jsonMapper.copyWith(new CBORFactory());
+        }
+        throw new IllegalArgumentException("Unsupported media type " + mediaType + ", expected one of " + SUPPORTED);
+    }
+}
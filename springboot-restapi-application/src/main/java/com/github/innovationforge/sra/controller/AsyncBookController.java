@@ -0,0 +1,59 @@
+package com.github.innovationforge.sra.controller;
+
+import com.github.innovationforge.sra.model.Book;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RequestMapping("/api/async/books")
+public interface AsyncBookController {
+
+    @Operation(summary = "Get all books without holding a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the books"),
+            @ApiResponse(responseCode = "404", description = "Books not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    CompletableFuture<ResponseEntity<List<Book>>> getAllBooks();
+
+    @Operation(summary = "Get a book by its id without holding a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the book"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{id}")
+    CompletableFuture<ResponseEntity<Book>> getBook(@PathVariable Long id);
+
+    @Operation(summary = "Create a new book without holding a request thread while it is written")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Book created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "429", description = "Too many writes queued"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping
+    CompletableFuture<ResponseEntity<Book>> createBook(@RequestBody Book book);
+
+    @Operation(summary = "Update an existing book without holding a request thread while it is written")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Book updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "429", description = "Too many writes queued"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/{id}")
+    CompletableFuture<ResponseEntity<Book>> updateBook(@PathVariable Long id, @RequestBody Book book);
+}
@@ -0,0 +1,43 @@
+package com.github.innovationforge.sra.controller;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncBookControllerImpl implements AsyncBookController {
+
+    private final BookService bookService;
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Book>>> getAllBooks() {
+        log.debug("Getting all books asynchronously");
+        return bookService.getAllBooksAsync().thenApply(ResponseEntity::ok); // Returns HTTP 200
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Book>> getBook(Long id) {
+        log.debug("Getting book with id: {} asynchronously", id);
+        return bookService.getBookAsync(id).thenApply(ResponseEntity::ok); // Returns HTTP 200
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Book>> createBook(Book book) {
+        log.debug("Creating book: {} asynchronously", book);
+        return bookService.createBookAsync(book).thenApply(createdBook -> ResponseEntity.status(201).body(createdBook)); // Returns HTTP 201
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Book>> updateBook(Long id, Book book) {
+        log.debug("Updating book with id: {} asynchronously with data: {}", id, book);
+        return bookService.updateBookAsync(id, book).thenApply(ResponseEntity::ok); // Returns HTTP 200
+    }
+}
@@ -1,12 +1,19 @@
 package com.github.innovationforge.sra.controller;
 
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookPageResponse;
+import com.github.innovationforge.sra.model.BookSearchResult;
+import com.github.innovationforge.sra.model.BulkImportResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RequestMapping("/api/books")
@@ -15,21 +22,67 @@ public interface BookController {
     @Operation(summary = "Get all books")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the books"),
+            @ApiResponse(responseCode = "304", description = "Books unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Books not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @GetMapping
+    // Paging parameters without size match no handler and answer 400, rather than the full listing
+    @GetMapping(params = {"!size", "!page", "!after", "!fields", "!ids"})
     ResponseEntity<List<Book>> getAllBooks();
 
+    @Operation(summary = "Stream all books as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming the books"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = {"!size", "!page", "!after", "!fields", "!ids"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamAllBooks();
+
+    @Operation(summary = "Get one page of books, optionally projected to a subset of fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the page"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or projection parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = {"size", "!ids"})
+    ResponseEntity<BookPageResponse> getBookPage(@RequestParam int size,
+                                                 @RequestParam(required = false) Integer page,
+                                                 @RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) List<String> fields);
+
+    @Operation(summary = "Search books by ISBN, author, title prefix or title words")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the matching books, up to the limit"),
+            @ApiResponse(responseCode = "400", description = "No search criteria or an invalid limit"),
+            @ApiResponse(responseCode = "503", description = "Search indexes not built yet"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/search")
+    ResponseEntity<BookSearchResult> searchBooks(@RequestParam(required = false) String isbn,
+                                                 @RequestParam(required = false) String author,
+                                                 @RequestParam(required = false) String title,
+                                                 @RequestParam(required = false) String q,
+                                                 @RequestParam(defaultValue = "20") int limit);
+
     @Operation(summary = "Get a book by its id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the book"),
+            @ApiResponse(responseCode = "304", description = "Book unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Book not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
     ResponseEntity<Book> getBook(@PathVariable Long id);
 
+    @Operation(summary = "Get several books by their ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the books that exist"),
+            @ApiResponse(responseCode = "400", description = "Invalid ids"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(params = "ids")
+    ResponseEntity<List<Book>> getBooks(@RequestParam List<Long> ids);
+
     @Operation(summary = "Create a new book")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Book created"),
@@ -39,6 +92,15 @@ public interface BookController {
     @PostMapping
     ResponseEntity<Book> createBook(@RequestBody Book book);
 
+    @Operation(summary = "Import books from a JSON array or newline-delimited JSON upload, read as a stream")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload read to the end; see the summary for rejected or failed records"),
+            @ApiResponse(responseCode = "400", description = "Upload could not be parsed; records before the error were imported"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<BulkImportResult> importBooks(InputStream body) throws IOException;
+
     @Operation(summary = "Update an existing book")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book updated"),
@@ -1,33 +1,141 @@
 package com.github.innovationforge.sra.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import com.github.innovationforge.sra.model.BookPageResponse;
+import com.github.innovationforge.sra.model.BookSearchRequest;
+import com.github.innovationforge.sra.model.BookSearchResult;
+import com.github.innovationforge.sra.model.BulkImportResult;
 import com.github.innovationforge.sra.service.BookService;
+import com.github.innovationforge.sra.service.InvalidRecordException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 public class BookControllerImpl implements BookController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final List<String> BOOK_FIELDS = List.of("id", "title", "author", "isbn");
+
     private final BookService bookService;
 
+    private final ObjectMapper objectMapper;
+
     @Override
     public ResponseEntity<List<Book>> getAllBooks() {
         log.debug("Getting all books");
         List<Book> books = bookService.getAllBooks();
-        return ResponseEntity.ok(books); // Returns HTTP 200
+        return ResponseEntity.ok().eTag(BookETags.of(books)).body(books); // Returns HTTP 200, or 304 if the ETag matches
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        log.debug("Streaming all books");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                bookService.streamAllBooks(book -> {
+                    try {
+                        objectMapper.writeValue(generator, book);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body); // Returns HTTP 200
+    }
+
+    @Override
+    public ResponseEntity<BookPageResponse> getBookPage(int size, Integer page, Long after, List<String> fields) {
+        log.debug("Getting page of books with size: {}, page: {}, after: {}, fields: {}", size, page, after, fields);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page != null && (page < 0 || after != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must not be negative and cannot be combined with after");
+        }
+        if (fields != null && !BOOK_FIELDS.containsAll(fields)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must be a subset of " + BOOK_FIELDS);
+        }
+
+        BookPage bookPage = bookService.getBookPage(new BookPageRequest(page, size, after, fields));
+        List<Map<String, Object>> content = bookPage.getContent().stream()
+                .map(book -> project(book, fields == null ? BOOK_FIELDS : fields))
+                .toList();
+
+        Long nextCursor = null;
+        String next = null;
+        if (bookPage.isHasNext()) {
+            UriComponentsBuilder nextUri = ServletUriComponentsBuilder.fromCurrentRequest();
+            if (page == null) {
+                nextCursor = bookPage.getContent().get(bookPage.getContent().size() - 1).getId();
+                nextUri.replaceQueryParam("after", nextCursor);
+            } else {
+                nextUri.replaceQueryParam("page", page + 1);
+            }
+            next = nextUri.toUriString();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok(); // Returns HTTP 200
+        if (next != null) {
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(new BookPageResponse(content, page, size, nextCursor, next));
+    }
+
+    @Override
+    public ResponseEntity<BookSearchResult> searchBooks(String isbn, String author, String title, String q, int limit) {
+        log.debug("Searching books with isbn: {}, author: {}, title: {}, q: {}, limit: {}", isbn, author, title, q, limit);
+        if (isBlank(isbn) && isBlank(author) && isBlank(title) && isBlank(q)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "one of isbn, author, title or q is required");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        BookSearchResult result = bookService.searchBooks(new BookSearchRequest(blankToNull(isbn), blankToNull(author),
+                blankToNull(title), blankToNull(q), limit));
+        return ResponseEntity.ok(result); // Returns HTTP 200
     }
 
     @Override
     public ResponseEntity<Book> getBook(Long id) {
         log.debug("Getting book with id: {}", id);
         Book book = bookService.getBook(id);
-        return ResponseEntity.ok(book); // Returns HTTP 200
+        return ResponseEntity.ok().eTag(BookETags.of(book)).body(book); // Returns HTTP 200, or 304 if the ETag matches
+    }
+
+    @Override
+    public ResponseEntity<List<Book>> getBooks(List<Long> ids) {
+        log.debug("Getting books with ids: {}", ids);
+        List<Book> books = bookService.getBooks(ids);
+        return ResponseEntity.ok(books); // Returns HTTP 200
     }
 
     @Override
@@ -37,6 +145,37 @@ public class BookControllerImpl implements BookController {
         return ResponseEntity.status(201).body(createdBook); // Returns HTTP 201
     }
 
+    @Override
+    public ResponseEntity<BulkImportResult> importBooks(InputStream body) throws IOException {
+        log.debug("Importing books");
+        // Jackson reads a root-level array element by element, and a sequence of root-level objects the same way
+        try (MappingIterator<Book> records = objectMapper.readerFor(Book.class).readValues(body)) {
+            BulkImportResult result = bookService.importBooks(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return records.hasNextValue();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                // A record of the wrong shape is skipped: the iterator resyncs to the next root-level value
+                @Override
+                public Book next() {
+                    try {
+                        return records.nextValue();
+                    } catch (JsonMappingException e) {
+                        throw new InvalidRecordException(e.getOriginalMessage());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            return ResponseEntity.status(result.getError() == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result); // Returns HTTP 200, or 400 if the upload was malformed
+        }
+    }
+
     @Override
     public ResponseEntity<Book> updateBook(Long id, @RequestBody Book book) {
         log.debug("Updating book with id: {} with data: {}", id, book);
@@ -50,4 +189,26 @@ public class BookControllerImpl implements BookController {
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build(); // Returns HTTP 204
     }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value;
+    }
+
+    private static Map<String, Object> project(Book book, List<String> fields) {
+        Map<String, Object> projection = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> projection.put(field, book.getId());
+                case "title" -> projection.put(field, book.getTitle());
+                case "author" -> projection.put(field, book.getAuthor());
+                case "isbn" -> projection.put(field, book.getIsbn());
+                default -> throw new IllegalArgumentException("Unknown book field: " + field);
+            }
+        }
+        return projection;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.github.innovationforge.sra.controller;
+
+import com.github.innovationforge.sra.model.Book;
+
+import java.util.List;
+
+/**
+ * Weak entity tags derived from book content. A 64-bit FNV-1a hash over the fields is cheap
+ * enough to compute on every request and does not require serializing the response first. The tag
+ * identifies the data rather than the bytes on the wire, so it stays valid for gzip-encoded responses.
+ */
+public final class BookETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private BookETags() {
+    }
+
+    public static String of(Book book) {
+        return format(hash(FNV_OFFSET_BASIS, book));
+    }
+
+    public static String of(List<Book> books) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Book book : books) {
+            hash = hash(hash, book);
+        }
+        return format(mix(hash, books.size()));
+    }
+
+    private static long hash(long hash, Book book) {
+        if (book == null) {
+            return mix(hash, 0);
+        }
+        hash = mix(hash, book.getId() == null ? 0 : book.getId());
+        hash = hash(hash, book.getTitle());
+        hash = hash(hash, book.getAuthor());
+        return hash(hash, book.getIsbn());
+    }
+
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String format(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
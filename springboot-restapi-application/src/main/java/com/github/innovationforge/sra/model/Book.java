@@ -1,5 +1,7 @@
 package com.github.innovationforge.sra.model;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +11,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Book {
     private Long id;
+    @NotBlank
+    @Size(max = 255)
     private String title;
+    @Size(max = 255)
     private String author;
+    @Size(max = 32)
     private String isbn;
 }
\ No newline at end of file
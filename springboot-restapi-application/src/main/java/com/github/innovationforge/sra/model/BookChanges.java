@@ -0,0 +1,19 @@
+package com.github.innovationforge.sra.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookChanges {
+    // Catalog version the changes bring a reader up to; 0 when the backend does not version its catalog
+    private long version;
+    // True when books is the whole catalog rather than only what changed, so anything missing from it is gone
+    private boolean full;
+    private List<Book> books;
+    private List<Long> deleted;
+}
@@ -0,0 +1,15 @@
+package com.github.innovationforge.sra.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookPage {
+    private List<Book> content;
+    private boolean hasNext;
+}
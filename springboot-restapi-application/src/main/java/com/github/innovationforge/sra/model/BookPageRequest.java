@@ -0,0 +1,25 @@
+package com.github.innovationforge.sra.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookPageRequest {
+    private Integer page;
+    private int size;
+    private Long after;
+    private List<String> fields;
+
+    public boolean isCursorBased() {
+        return page == null;
+    }
+
+    public long getOffset() {
+        return isCursorBased() ? 0 : (long) page * size;
+    }
+}
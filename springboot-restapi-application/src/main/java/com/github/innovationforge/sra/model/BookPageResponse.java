@@ -0,0 +1,21 @@
+package com.github.innovationforge.sra.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookPageResponse {
+    private List<Map<String, Object>> content;
+    private Integer page;
+    private int size;
+    private Long nextCursor;
+    private String next;
+}
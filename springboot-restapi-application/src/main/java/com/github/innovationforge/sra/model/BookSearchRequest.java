@@ -0,0 +1,20 @@
+package com.github.innovationforge.sra.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSearchRequest {
+    // Exact ISBN, ignoring hyphens and spaces
+    private String isbn;
+    // Exact author, ignoring case
+    private String author;
+    // Prefix of the whole title, ignoring case
+    private String title;
+    // Words that must each start a word of the title, ignoring case
+    private String q;
+    private int limit;
+}
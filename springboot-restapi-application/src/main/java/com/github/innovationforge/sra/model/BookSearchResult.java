@@ -0,0 +1,17 @@
+package com.github.innovationforge.sra.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSearchResult {
+    // Matching books in id order, at most the requested limit
+    private List<Book> content;
+    // All matching books, including those beyond the limit
+    private int total;
+}
@@ -0,0 +1,21 @@
+package com.github.innovationforge.sra.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportBatch {
+    private int batch;
+    // 1-based position of the batch's first record in the upload
+    private long firstRecord;
+    private int records;
+    private int imported;
+    private int rejected;
+    private int failed;
+    private List<String> errors;
+}
@@ -0,0 +1,23 @@
+package com.github.innovationforge.sra.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportResult {
+    private long records;
+    private long imported;
+    private long rejected;
+    private long failed;
+    // Only batches with rejected or failed records, the first maxReportedBatches of them
+    private List<BulkImportBatch> batches;
+    // Set when the upload could not be parsed to the end; records after that point were not read
+    private String error;
+}
@@ -0,0 +1,13 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.model.Book;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncBookRepository {
+    CompletableFuture<List<Book>> findAll();
+    CompletableFuture<Book> findById(Long id);
+    CompletableFuture<Book> save(Book book);
+    CompletableFuture<Void> deleteById(Long id);
+}
@@ -0,0 +1,125 @@
+package com.github.innovationforge.sra.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.innovationforge.sra.config.ApiProperties;
+import com.github.innovationforge.sra.config.HttpClientProperties;
+import com.github.innovationforge.sra.config.WireFormats;
+import com.github.innovationforge.sra.model.Book;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls the backend directly with the non-blocking JDK client. It honours the backend URL, media type and
+ * {@code http.connection.responseTimeout}, but none of the layers {@code BookRepositoryConfig} stacks around the
+ * blocking repository: there is no caching, coalescing, resilience, replica or {@code backend.*} metrics here.
+ */
+@Repository
+public class AsyncBookRepositoryImpl implements AsyncBookRepository {
+
+    private final ApiProperties apiProperties;
+
+    private final HttpClientProperties httpClientProperties;
+
+    private final HttpClient httpClient;
+
+    // Writes request bodies as JSON
+    private final ObjectMapper objectMapper;
+
+    // Reads responses in the configured backend media type
+    private final ObjectMapper responseMapper;
+
+    public AsyncBookRepositoryImpl(ApiProperties apiProperties, HttpClientProperties httpClientProperties,
+                                   HttpClient httpClient, ObjectMapper objectMapper) {
+        this.apiProperties = apiProperties;
+        this.httpClientProperties = httpClientProperties;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.responseMapper = WireFormats.objectMapper(objectMapper, apiProperties.getMediaType());
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> findAll() {
+        HttpRequest request = request(apiProperties.getUrl())
+                .GET()
+                .build();
+        return send(request, Book[].class).thenApply(Arrays::asList);
+    }
+
+    @Override
+    public CompletableFuture<Book> findById(Long id) {
+        HttpRequest request = request(apiProperties.getUrl() + "/" + id)
+                .GET()
+                .build();
+        return send(request, Book.class);
+    }
+
+    // Like the blocking repository, writes send JSON; only responses use the configured media type
+    @Override
+    public CompletableFuture<Book> save(Book book) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(book);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new RestClientException("Could not write request body", e));
+        }
+        HttpRequest request = request(apiProperties.getUrl())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return send(request, Book.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(Long id) {
+        HttpRequest request = request(apiProperties.getUrl() + "/" + id)
+                .DELETE()
+                .build();
+        return send(request, Void.class);
+    }
+
+    // The timeout fails the future with an HttpTimeoutException when the backend has not answered in time
+    private HttpRequest.Builder request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(httpClientProperties.getResponseTimeout())
+                .header(HttpHeaders.ACCEPT, apiProperties.getMediaType().toString());
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest request, Class<T> type) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> read(response, type));
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, Class<T> type) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        byte[] body = response.body();
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "", HttpHeaders.EMPTY, body, null);
+        }
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create(status, "", HttpHeaders.EMPTY, body, null);
+        }
+        if (type == Void.class || body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return responseMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new RestClientException("Could not read response body", e);
+        }
+    }
+}
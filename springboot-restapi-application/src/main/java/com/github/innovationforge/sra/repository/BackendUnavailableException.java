@@ -0,0 +1,16 @@
+package com.github.innovationforge.sra.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown instead of calling the backend when its circuit is open or no bulkhead or concurrency permit is free,
+ * and there is no stale copy to answer from.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BackendUnavailableException extends RuntimeException {
+
+    public BackendUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.config.BookBatchProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Dataloader-style micro-batcher for multi-id fetches. The ids of concurrent {@link #findAllById} calls are
+ * collected for a short window (or until the batch is full), de-duplicated and then dispatched together, with
+ * at most {@code parallelism} backend requests in flight at any time. Single lookups have nothing to batch
+ * with and go straight to the backend, so they neither wait out the window nor queue for a worker.
+ */
+public class BatchingBookRepository implements BookRepository, AutoCloseable {
+
+    private final BookRepository delegate;
+
+    private final BookBatchProperties properties;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ExecutorService workers;
+
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+
+    private Map<Long, CompletableFuture<Book>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingBookRepository(BookRepository delegate, BookBatchProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("book-batch-scheduler-"));
+        this.workers = Executors.newFixedThreadPool(properties.getParallelism(), daemonThreads("book-batch-worker-"));
+        this.batchSizes = DistributionSummary.builder("backend.batch.size")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        return delegate.findPage(request);
+    }
+
+    @Override
+    public Book findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        List<CompletableFuture<Book>> calls = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            calls.add(enqueue(id));
+        }
+        List<Book> books = new ArrayList<>();
+        for (CompletableFuture<Book> call : calls) {
+            try {
+                Book book = await(call);
+                if (book != null) {
+                    books.add(book);
+                }
+            } catch (HttpClientErrorException.NotFound e) {
+                // Missing ids are left out of the result
+            }
+        }
+        return books;
+    }
+
+    @Override
+    public Book save(Book book) {
+        return delegate.save(book);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        return delegate.findChanges(sinceVersion);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        scheduler.shutdown();
+        workers.shutdown();
+    }
+
+    private CompletableFuture<Book> enqueue(Long id) {
+        Map<Long, CompletableFuture<Book>> full = null;
+        CompletableFuture<Book> call;
+        synchronized (lock) {
+            call = pending.get(id);
+            if (call == null) {
+                call = new CompletableFuture<>();
+                pending.put(id, call);
+                if (pending.size() >= properties.getMaxBatchSize()) {
+                    full = drain();
+                } else if (scheduledFlush == null) {
+                    try {
+                        scheduledFlush = scheduler.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // Closed: dispatching straight away fails the batch rather than leaving it pending
+                        full = drain();
+                    }
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return call;
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<Book>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private Map<Long, CompletableFuture<Book>> drain() {
+        Map<Long, CompletableFuture<Book>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<Book>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+        // Every future must complete, whatever is thrown, or its caller waits in join() forever
+        batch.forEach((id, call) -> {
+            try {
+                workers.execute(() -> {
+                    try {
+                        call.complete(delegate.findById(id));
+                    } catch (Throwable e) {
+                        call.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                call.completeExceptionally(e);
+            }
+        });
+    }
+
+    private static Book await(CompletableFuture<Book> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.model.Book;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Books held in-process, keyed and ordered by id. Implementations are safe for concurrent readers and writers.
+ */
+public interface BookCatalog {
+    Book get(long id);
+    void put(Book book);
+    void remove(long id);
+    int size();
+
+    /**
+     * Visits every book in ascending id order. Books written during the walk may or may not be seen.
+     */
+    void forEach(Consumer<Book> consumer);
+
+    /**
+     * Up to {@code limit} books in ascending id order, after the id {@code after} if given, skipping {@code offset}.
+     */
+    List<Book> page(Long after, long offset, int limit);
+
+    /**
+     * Removes every book whose id {@code keep} rejects.
+     */
+    void retain(LongPredicate keep);
+}
@@ -1,11 +1,34 @@
 package com.github.innovationforge.sra.repository;
 
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface BookRepository {
     List<Book> findAll();
+    void streamAll(Consumer<Book> consumer);
+    BookPage findPage(BookPageRequest request);
     Book findById(Long id);
+    List<Book> findAllById(Collection<Long> ids);
     Book save(Book book);
     void deleteById(Long id);
+
+    /**
+     * Books written or deleted after the given catalog version, or the full catalog when {@code sinceVersion} is
+     * negative or the backend cannot tell what changed.
+     */
+    BookChanges findChanges(long sinceVersion);
+
+    /**
+     * Saves without waiting for the backend where the repository supports it. The default saves synchronously.
+     */
+    default CompletableFuture<Book> saveAsync(Book book) {
+        return CompletableFuture.completedFuture(save(book));
+    }
 }
\ No newline at end of file
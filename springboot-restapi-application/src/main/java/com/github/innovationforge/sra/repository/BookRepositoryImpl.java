@@ -1,59 +1,350 @@
 package com.github.innovationforge.sra.repository;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.innovationforge.sra.config.ApiProperties;
+import com.github.innovationforge.sra.config.WireFormats;
 import com.github.innovationforge.sra.model.Book;
-import lombok.RequiredArgsConstructor;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Repository
-@RequiredArgsConstructor
 public class BookRepositoryImpl implements BookRepository {
 
+    // Status tag for calls that failed before an HTTP response was received
+    private static final String NO_RESPONSE_STATUS = "IO_ERROR";
+
+    // Sent by a backend that answers changedSince listings: the catalog version, and whether the listing is a delta
+    private static final String VERSION_HEADER = "X-Catalog-Version";
+
+    private static final String CHANGES_HEADER = "X-Catalog-Changes";
+
     private final ApiProperties apiProperties;
 
     private final RestClient restClient;
 
+    // Reads the streamed listing in the configured backend media type
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    // Last representation and validators seen from the backend, used to revalidate with conditional GETs
+    private final Cache<Long, Validated<Book>> validatedBooks;
+
+    private final AtomicReference<Validated<List<Book>>> validatedListing = new AtomicReference<>();
+
+    public BookRepositoryImpl(ApiProperties apiProperties, RestClient restClient, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.apiProperties = apiProperties;
+        this.restClient = restClient;
+        this.objectMapper = WireFormats.objectMapper(objectMapper, apiProperties.getMediaType());
+        this.meterRegistry = meterRegistry;
+        this.validatedBooks = Caffeine.newBuilder()
+                .maximumSize(apiProperties.getRevalidationCacheSize())
+                .build();
+    }
+
     @Override
     public List<Book> findAll() {
-        ResponseEntity<Book[]> response = restClient
-                .get()
-                .uri(apiProperties.getUrl())
+        Validated<List<Book>> cached = validatedListing.get();
+        ResponseEntity<Book[]> response = record("findAll", () -> conditional(accepting(restClient.get().uri(apiProperties.getUrl())), cached)
+                .retrieve()
+                .toEntity(Book[].class));
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return cached.body();
+        }
+        List<Book> books = Arrays.asList(response.getBody());
+        validatedListing.set(validated(response, books));
+        return books;
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String[] status = {NO_RESPONSE_STATUS};
+        try {
+            accepting(restClient.get().uri(apiProperties.getUrl()))
+                    .exchange((request, response) -> {
+                        status[0] = String.valueOf(response.getStatusCode().value());
+                        if (response.getStatusCode().isError()) {
+                            new DefaultResponseErrorHandler().handleError(response);
+                        }
+                        CountingInputStream body = new CountingInputStream(response.getBody());
+                        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                                throw new RestClientException("Expected an array of books from " + request.getURI());
+                            }
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                consumer.accept(objectMapper.readValue(parser, Book.class));
+                            }
+                        } finally {
+                            responseSize("streamAll").record(body.count);
+                        }
+                        return null;
+                    });
+        } finally {
+            sample.stop(requestTimer("streamAll", status[0]));
+        }
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        List<Book> books = apiProperties.isPaginationSupported() ? fetchPage(request) : scanPage(request);
+        boolean hasNext = books.size() > request.getSize();
+        return new BookPage(hasNext ? books.subList(0, request.getSize()) : books, hasNext);
+    }
+
+    // Asks the backend for one book more than the page size so we know whether a next page exists
+    private List<Book> fetchPage(BookPageRequest request) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(apiProperties.getUrl())
+                .queryParam("limit", request.getSize() + 1);
+        if (request.isCursorBased()) {
+            if (request.getAfter() != null) {
+                uri.queryParam("after", request.getAfter());
+            }
+        } else {
+            uri.queryParam("offset", request.getOffset());
+        }
+        if (request.getFields() != null && !request.getFields().isEmpty()) {
+            uri.queryParam("fields", String.join(",", request.getFields()));
+        }
+        ResponseEntity<Book[]> response = record("findPage", () -> accepting(restClient.get().uri(uri.build().toUri()))
                 .retrieve()
-                .toEntity(Book[].class);
+                .toEntity(Book[].class));
         return Arrays.asList(response.getBody());
     }
 
+    // Streams the full listing and keeps only the smallest ids that can land on the page or before it, so memory
+    // is bounded by offset + size rather than the catalog; deep offset pages are better served with after
+    private List<Book> scanPage(BookPageRequest request) {
+        long offset = request.getOffset();
+        int limit = (int) Math.min(Integer.MAX_VALUE - 1, offset + request.getSize() + 1);
+        Comparator<Book> byId = Comparator.comparing(Book::getId);
+        PriorityQueue<Book> smallest = new PriorityQueue<>(byId.reversed());
+        streamAll(book -> {
+            if (book.getId() == null || (request.getAfter() != null && book.getId() <= request.getAfter())) {
+                return;
+            }
+            if (smallest.size() < limit) {
+                smallest.add(book);
+            } else if (byId.compare(book, smallest.peek()) < 0) {
+                smallest.poll();
+                smallest.add(book);
+            }
+        });
+        List<Book> books = new ArrayList<>(smallest);
+        books.sort(byId);
+        return books.subList((int) Math.min(offset, books.size()), books.size());
+    }
+
     @Override
     public Book findById(Long id) {
-        ResponseEntity<Book> response = restClient
-                .get()
-                .uri(apiProperties.getUrl() + "/" + id)
+        Validated<Book> cached = validatedBooks.getIfPresent(id);
+        ResponseEntity<Book> response = record("findById", () -> conditional(accepting(restClient.get().uri(apiProperties.getUrl() + "/" + id)), cached)
                 .retrieve()
-                .toEntity(Book.class);
+                .toEntity(Book.class));
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return cached.body();
+        }
+        Validated<Book> validated = validated(response, response.getBody());
+        if (validated != null) {
+            validatedBooks.put(id, validated);
+        } else {
+            validatedBooks.invalidate(id);
+        }
         return response.getBody();
     }
 
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        List<Book> books = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            try {
+                Book book = findById(id);
+                if (book != null) {
+                    books.add(book);
+                }
+            } catch (HttpClientErrorException.NotFound e) {
+                // Missing ids are left out of the result
+            }
+        }
+        return books;
+    }
+
     @Override
     public Book save(Book book) {
-        ResponseEntity<Book> response = restClient
+        ResponseEntity<Book> response = record("save", () -> restClient
                 .post()
                 .uri(apiProperties.getUrl())
                 .body(book)
                 .retrieve()
-                .toEntity(Book.class);
+                .toEntity(Book.class));
         return response.getBody();
     }
 
     @Override
     public void deleteById(Long id) {
-        restClient
+        record("deleteById", () -> restClient
                 .delete()
                 .uri(apiProperties.getUrl() + "/" + id)
-                .retrieve();
+                .retrieve()
+                .toBodilessEntity());
+        validatedBooks.invalidate(id);
+    }
+
+    // A backend without versioning ignores changedSince and returns its plain listing, which is taken as the full
+    // catalog at version 0
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(apiProperties.getUrl())
+                .queryParam("changedSince", sinceVersion)
+                .build()
+                .toUri();
+        ResponseEntity<BookChange[]> response = record("findChanges", () -> accepting(restClient.get().uri(uri))
+                .retrieve()
+                .toEntity(BookChange[].class));
+        String version = response.getHeaders().getFirst(VERSION_HEADER);
+        boolean delta = version != null && "delta".equals(response.getHeaders().getFirst(CHANGES_HEADER));
+        List<Book> books = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (BookChange change : response.getBody()) {
+            if (change.deleted()) {
+                deleted.add(change.id());
+            } else {
+                books.add(new Book(change.id(), change.title(), change.author(), change.isbn()));
+            }
+        }
+        return new BookChanges(version == null ? 0 : Long.parseLong(version), !delta, books, deleted);
+    }
+
+    // Writes still send JSON; only responses, where the parse cost is, use the configured media type
+    private RestClient.RequestHeadersSpec<?> accepting(RestClient.RequestHeadersSpec<?> request) {
+        return request.accept(apiProperties.getMediaType());
+    }
+
+    // Times a backend call and tags it with the repository method and the HTTP status it ended with
+    private <T> ResponseEntity<T> record(String method, Supplier<ResponseEntity<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = NO_RESPONSE_STATUS;
+        try {
+            ResponseEntity<T> response = call.get();
+            status = String.valueOf(response.getStatusCode().value());
+            long contentLength = response.getHeaders().getContentLength();
+            if (contentLength >= 0) {
+                responseSize(method).record(contentLength);
+            }
+            return response;
+        } catch (RestClientResponseException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            throw e;
+        } finally {
+            sample.stop(requestTimer(method, status));
+        }
+    }
+
+    private Timer requestTimer(String method, String status) {
+        return Timer.builder("backend.requests")
+                .description("Latency of calls to the books backend")
+                .tag("method", method)
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary responseSize(String method) {
+        return DistributionSummary.builder("backend.response.size")
+                .description("Size of response payloads received from the books backend")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static RestClient.RequestHeadersSpec<?> conditional(RestClient.RequestHeadersSpec<?> request, Validated<?> cached) {
+        if (cached == null) {
+            return request;
+        }
+        if (cached.eTag() != null) {
+            request = request.ifNoneMatch(cached.eTag());
+        }
+        if (cached.lastModified() != null) {
+            request = request.header(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+        return request;
+    }
+
+    private static <T> Validated<T> validated(ResponseEntity<?> response, T body) {
+        String eTag = response.getHeaders().getETag();
+        String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (body == null || (eTag == null && lastModified == null)) {
+            return null;
+        }
+        return new Validated<>(eTag, lastModified, body);
+    }
+
+    private record Validated<T>(String eTag, String lastModified, T body) {
+    }
+
+    private record BookChange(Long id, String title, String author, String isbn, boolean deleted) {
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.model.Book;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A copy of the catalog at one version, stored as a memory-mapped file: a short header (magic, version, sync
+ * time, count) followed by each book as its id and length-prefixed UTF-8 fields. Reading it back is a single pass
+ * over mapped memory with no JSON parsing. Files are written next to the target and moved into place, so a
+ * crash mid-write leaves the previous snapshot intact. A snapshot is limited to 2 GB, the size of one mapping.
+ */
+public record BookSnapshot(long version, long syncedAtMillis, List<Book> books) {
+
+    private static final int MAGIC = 0x424B5331;
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * Reads the snapshot at {@code path}, or returns {@code null} when there is none.
+     */
+    public static BookSnapshot read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a book snapshot: " + path);
+            }
+            long version = buffer.getLong();
+            long syncedAtMillis = buffer.getLong();
+            int count = buffer.getInt();
+            List<Book> books = new ArrayList<>(Math.max(0, Math.min(count, buffer.remaining() / Long.BYTES)));
+            for (int i = 0; i < count; i++) {
+                books.add(new Book(buffer.getLong(), getString(buffer), getString(buffer), getString(buffer)));
+            }
+            return new BookSnapshot(version, syncedAtMillis, books);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated book snapshot: " + path, e);
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        long size = HEADER_BYTES;
+        for (Book book : books) {
+            size += Long.BYTES + stringBytes(book.getTitle()) + stringBytes(book.getAuthor()) + stringBytes(book.getIsbn());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog of " + size + " bytes is too large for a snapshot");
+        }
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putLong(version).putLong(syncedAtMillis).putInt(books.size());
+            for (Book book : books) {
+                buffer.putLong(book.getId());
+                putString(buffer, book.getTitle());
+                putString(buffer, book.getAuthor());
+                putString(buffer, book.getIsbn());
+            }
+            buffer.force();
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long stringBytes(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
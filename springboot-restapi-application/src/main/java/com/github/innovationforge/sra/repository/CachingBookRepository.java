@@ -0,0 +1,119 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.innovationforge.sra.config.BookCacheProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache in front of another {@link BookRepository}. Single book lookups are served
+ * from memory; writes and deletes invalidate the affected entries.
+ */
+public class CachingBookRepository implements BookRepository {
+
+    public static final String CACHE_NAME = "books";
+
+    private final BookRepository delegate;
+
+    private final LoadingCache<Long, Book> cache;
+
+    public CachingBookRepository(BookRepository delegate, BookCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats();
+        if (properties.getRefreshAfterWrite() != null && !properties.getRefreshAfterWrite().isZero()) {
+            builder.refreshAfterWrite(properties.getRefreshAfterWrite());
+        }
+        this.cache = builder.build(new CacheLoader<>() {
+            @Override
+            public Book load(Long id) {
+                return delegate.findById(id);
+            }
+
+            @Override
+            public Map<Long, Book> loadAll(Set<? extends Long> ids) {
+                return delegate.findAllById(new ArrayList<>(ids)).stream()
+                        .collect(Collectors.toMap(Book::getId, Function.identity(), (first, second) -> first));
+            }
+        });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        return delegate.findPage(request);
+    }
+
+    @Override
+    public Book findById(Long id) {
+        return cache.get(id);
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        Map<Long, Book> books = cache.getAll(ids);
+        return ids.stream()
+                .distinct()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Book save(Book book) {
+        Book saved = delegate.save(book);
+        invalidate(book);
+        invalidate(saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        cache.invalidate(id);
+    }
+
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        return delegate.findChanges(sinceVersion);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void invalidate(Book book) {
+        if (book != null && book.getId() != null) {
+            cache.invalidate(book.getId());
+        }
+    }
+}
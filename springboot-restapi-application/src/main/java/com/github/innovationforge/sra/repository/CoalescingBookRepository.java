@@ -0,0 +1,114 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collapses concurrent {@link #findById(Long)} calls for the same id into a single backend request.
+ * The first caller performs the lookup; callers arriving while it is in flight share its result.
+ */
+public class CoalescingBookRepository implements BookRepository {
+
+    private final BookRepository delegate;
+
+    private final Map<Long, CompletableFuture<Book>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCalls;
+
+    private final Counter collapsedCalls;
+
+    public CoalescingBookRepository(BookRepository delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executedCalls = Counter.builder("backend.coalescing.calls")
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.collapsedCalls = Counter.builder("backend.coalescing.calls")
+                .tag("result", "collapsed")
+                .register(meterRegistry);
+        Gauge.builder("backend.coalescing.in.flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        return delegate.findPage(request);
+    }
+
+    @Override
+    public Book findById(Long id) {
+        CompletableFuture<Book> call = new CompletableFuture<>();
+        CompletableFuture<Book> existing = inFlight.putIfAbsent(id, call);
+        if (existing != null) {
+            collapsedCalls.increment();
+            return await(existing);
+        }
+        executedCalls.increment();
+        try {
+            call.complete(delegate.findById(id));
+        } catch (Throwable e) {
+            // Errors too, or every caller joined on this lookup would wait forever
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, call);
+        }
+        return await(call);
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Book save(Book book) {
+        return delegate.save(book);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        return delegate.findChanges(sinceVersion);
+    }
+
+    private static Book await(CompletableFuture<Book> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.model.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * {@link BookCatalog} stored column-wise in primitive arrays instead of one {@link Book} object per book:
+ * <ul>
+ *     <li>ids map to array slots through a {@link LongIntMap}</li>
+ *     <li>ISBN-10 and ISBN-13 values, hyphens included, are packed into one {@code long}; anything else is kept
+ *     as a string on the side</li>
+ *     <li>authors are interned into a table and referenced by {@code int}; the table is not pruned</li>
+ *     <li>titles are UTF-8 bytes in one shared array, compacted once half of it is overwritten text</li>
+ * </ul>
+ * That is several times smaller than a map of books, at the price of decoding a {@link Book} on every read. Ids
+ * are sorted lazily, once per batch of inserts or removals, for ordered reads.
+ */
+public class CompactBookCatalog implements BookCatalog {
+
+    private static final long NO_ISBN = -1;
+
+    private static final long OTHER_ISBN = -2;
+
+    private static final int NO_AUTHOR = -1;
+
+    private static final int NO_TITLE = -1;
+
+    private static final long FREE_SLOT = Long.MIN_VALUE;
+
+    private static final int ISBN_VALUE_BITS = 44;
+
+    private static final int ISBN_HYPHEN_BITS = 12;
+
+    private static final int ISBN_10_FLAG_BIT = ISBN_VALUE_BITS + ISBN_HYPHEN_BITS;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongIntMap slots = new LongIntMap(1024);
+
+    private long[] ids = new long[1024];
+
+    private long[] isbns = new long[1024];
+
+    private int[] authors = new int[1024];
+
+    private int[] titleOffsets = new int[1024];
+
+    private int[] titleLengths = new int[1024];
+
+    // Slots below this have been handed out at least once
+    private int slotsUsed;
+
+    private int[] freeSlots = new int[64];
+
+    private int freeSlotCount;
+
+    private final List<String> authorNames = new ArrayList<>();
+
+    private final Map<String, Integer> authorRefs = new HashMap<>();
+
+    private final Map<Long, String> otherIsbns = new HashMap<>();
+
+    private byte[] titleBytes = new byte[64 * 1024];
+
+    private int titleEnd;
+
+    private int titleGarbage;
+
+    private volatile long[] sortedIds = new long[0];
+
+    private volatile boolean sortedIdsStale;
+
+    @Override
+    public Book get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            return slot == LongIntMap.ABSENT ? null : book(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Book book) {
+        long id = book.getId();
+        lock.writeLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot == LongIntMap.ABSENT) {
+                slot = allocateSlot();
+                slots.put(id, slot);
+                ids[slot] = id;
+                sortedIdsStale = true;
+            } else {
+                release(slot);
+            }
+            isbns[slot] = encodeIsbn(book.getIsbn());
+            if (isbns[slot] == OTHER_ISBN) {
+                otherIsbns.put(id, book.getIsbn());
+            }
+            authors[slot] = book.getAuthor() == null ? NO_AUTHOR : authorRefs.computeIfAbsent(book.getAuthor(), author -> {
+                authorNames.add(author);
+                return authorNames.size() - 1;
+            });
+            storeTitle(slot, book.getTitle());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slots.remove(id);
+            if (slot != LongIntMap.ABSENT) {
+                freeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<Book> consumer) {
+        for (long id : sortedIds()) {
+            Book book = get(id);
+            if (book != null) {
+                consumer.accept(book);
+            }
+        }
+    }
+
+    @Override
+    public List<Book> page(Long after, long offset, int limit) {
+        long[] ordered = sortedIds();
+        int start = 0;
+        if (after != null) {
+            int index = Arrays.binarySearch(ordered, after);
+            start = index >= 0 ? index + 1 : -index - 1;
+        }
+        List<Book> books = new ArrayList<>(Math.min(limit, ordered.length));
+        long skipped = 0;
+        for (int i = start; i < ordered.length && books.size() < limit; i++) {
+            Book book = get(ordered[i]);
+            if (book != null && skipped++ >= offset) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    @Override
+    public void retain(LongPredicate keep) {
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < slotsUsed; slot++) {
+                if (ids[slot] != FREE_SLOT && !keep.test(ids[slot])) {
+                    slots.remove(ids[slot]);
+                    freeSlot(slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Heap held by the catalog's arrays and side tables, estimated from their sizes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = slots.bytes() + 16 + 8L * ids.length + 16 + 8L * isbns.length + 16 + 4L * authors.length
+                    + 16 + 4L * titleOffsets.length + 16 + 4L * titleLengths.length + 16 + 4L * freeSlots.length
+                    + 16 + titleBytes.length + 16 + 8L * sortedIds.length;
+            for (String author : authorNames) {
+                // Table reference, dictionary entry and the string itself
+                bytes += 4 + 48 + 40 + author.length();
+            }
+            for (String isbn : otherIsbns.values()) {
+                bytes += 48 + 16 + 40 + isbn.length();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] sortedIds() {
+        if (!sortedIdsStale) {
+            return sortedIds;
+        }
+        lock.writeLock().lock();
+        try {
+            if (sortedIdsStale) {
+                long[] live = new long[slots.size()];
+                int count = 0;
+                for (int slot = 0; slot < slotsUsed; slot++) {
+                    if (ids[slot] != FREE_SLOT) {
+                        live[count++] = ids[slot];
+                    }
+                }
+                Arrays.sort(live);
+                sortedIds = live;
+                sortedIdsStale = false;
+            }
+            return sortedIds;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Book book(int slot) {
+        long id = ids[slot];
+        String isbn = isbns[slot] == OTHER_ISBN ? otherIsbns.get(id) : decodeIsbn(isbns[slot]);
+        String author = authors[slot] == NO_AUTHOR ? null : authorNames.get(authors[slot]);
+        String title = titleLengths[slot] == NO_TITLE ? null
+                : new String(titleBytes, titleOffsets[slot], titleLengths[slot], StandardCharsets.UTF_8);
+        return new Book(id, title, author, isbn);
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotsUsed == ids.length) {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            isbns = Arrays.copyOf(isbns, capacity);
+            authors = Arrays.copyOf(authors, capacity);
+            titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+        }
+        return slotsUsed++;
+    }
+
+    // Drops what a slot points to outside its own columns, before it is overwritten or freed
+    private void release(int slot) {
+        if (isbns[slot] == OTHER_ISBN) {
+            otherIsbns.remove(ids[slot]);
+        }
+        if (titleLengths[slot] > 0) {
+            titleGarbage += titleLengths[slot];
+        }
+    }
+
+    private void freeSlot(int slot) {
+        release(slot);
+        ids[slot] = FREE_SLOT;
+        titleLengths[slot] = NO_TITLE;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        sortedIdsStale = true;
+    }
+
+    private void storeTitle(int slot, String title) {
+        if (title == null) {
+            titleLengths[slot] = NO_TITLE;
+            return;
+        }
+        byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+        if (titleGarbage > titleEnd / 2 && titleEnd - titleGarbage + bytes.length <= titleBytes.length) {
+            compactTitles();
+        }
+        if (titleEnd + bytes.length > titleBytes.length) {
+            long capacity = Math.max((long) titleBytes.length << 1, (long) titleEnd + bytes.length);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Titles no longer fit in one array");
+            }
+            titleBytes = Arrays.copyOf(titleBytes, (int) capacity);
+        }
+        System.arraycopy(bytes, 0, titleBytes, titleEnd, bytes.length);
+        titleOffsets[slot] = titleEnd;
+        titleLengths[slot] = bytes.length;
+        titleEnd += bytes.length;
+    }
+
+    private void compactTitles() {
+        byte[] compacted = new byte[titleBytes.length];
+        int end = 0;
+        for (int slot = 0; slot < slotsUsed; slot++) {
+            if (ids[slot] != FREE_SLOT && titleLengths[slot] > 0) {
+                System.arraycopy(titleBytes, titleOffsets[slot], compacted, end, titleLengths[slot]);
+                titleOffsets[slot] = end;
+                end += titleLengths[slot];
+            }
+        }
+        titleBytes = compacted;
+        titleEnd = end;
+        titleGarbage = 0;
+    }
+
+    /**
+     * Packs an ISBN-10 or ISBN-13, with hyphens anywhere between its characters, into a {@code long}: the value
+     * in the low 44 bits, a bit per possible hyphen position above that, and a flag for ISBN-10. Returns
+     * {@code OTHER_ISBN} for anything that would not decode to the exact same string.
+     */
+    static long encodeIsbn(String isbn) {
+        if (isbn == null) {
+            return NO_ISBN;
+        }
+        long digits = 0;
+        int length = 0;
+        long hyphens = 0;
+        boolean checkX = false;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9' && !checkX && length < 13) {
+                digits = digits * 10 + (c - '0');
+                length++;
+            } else if (c == 'X' && length == 9) {
+                checkX = true;
+                length++;
+            } else if (c == '-' && length > 0 && length <= ISBN_HYPHEN_BITS) {
+                hyphens |= 1L << (length - 1);
+            } else {
+                return OTHER_ISBN;
+            }
+        }
+        long code;
+        if (length == 13) {
+            code = digits;
+        } else if (length == 10) {
+            long first9 = checkX ? digits : digits / 10;
+            long check = checkX ? 10 : digits % 10;
+            code = (first9 * 11 + check) | 1L << ISBN_10_FLAG_BIT;
+        } else {
+            return OTHER_ISBN;
+        }
+        code |= hyphens << ISBN_VALUE_BITS;
+        return isbn.equals(decodeIsbn(code)) ? code : OTHER_ISBN;
+    }
+
+    static String decodeIsbn(long code) {
+        if (code == NO_ISBN) {
+            return null;
+        }
+        long value = code & ((1L << ISBN_VALUE_BITS) - 1);
+        int hyphens = (int) (code >>> ISBN_VALUE_BITS) & ((1 << ISBN_HYPHEN_BITS) - 1);
+        String characters;
+        if ((code >>> ISBN_10_FLAG_BIT & 1) == 1) {
+            long check = value % 11;
+            characters = String.format("%09d", value / 11) + (check == 10 ? "X" : String.valueOf(check));
+        } else {
+            characters = String.format("%013d", value);
+        }
+        StringBuilder isbn = new StringBuilder(characters.length() + Integer.bitCount(hyphens));
+        for (int i = 0; i < characters.length(); i++) {
+            isbn.append(characters.charAt(i));
+            if (i < characters.length() - 1 && (hyphens & 1 << i) != 0) {
+                isbn.append('-');
+            }
+        }
+        return isbn.toString();
+    }
+}
@@ -0,0 +1,314 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.config.BookReplicaProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the whole catalog in memory and answers reads from it, so reads no longer wait on the backend. A
+ * background thread polls the backend for the books changed since the last catalog version it saw; backends
+ * without versioning are reloaded in full on every poll instead. The catalog is also written to a
+ * {@link BookSnapshot} now and then, so a restarted node answers from the snapshot straight away and only
+ * catches up on what changed since. Until the first snapshot or sync has loaded, reads go to the backend.
+ * Writes go to the backend and are applied to the replica once it has them, so a node reads its own writes.
+ * The books are held in a {@link SkipListBookCatalog}, or in a {@link CompactBookCatalog} when memory matters
+ * more than decoding each book on read.
+ */
+@Slf4j
+public class ReplicatedBookRepository implements BookRepository, AutoCloseable {
+
+    private final BookRepository delegate;
+
+    private final BookReplicaProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final BookCatalog books;
+
+    private final ScheduledExecutorService syncer;
+
+    // -1 until loaded: asks the backend for its full catalog
+    private volatile long version = -1;
+
+    private volatile boolean loaded;
+
+    private volatile long syncedAtMillis;
+
+    // Local writes and deletes (empty) made while a sync runs, re-applied after it so an older listing or delta
+    // does not undo them; null between syncs
+    private volatile Map<Long, Optional<Book>> writesDuringSync;
+
+    private long nextSnapshotNanos = System.nanoTime();
+
+    private boolean snapshotOutdated;
+
+    public ReplicatedBookRepository(BookRepository delegate, BookReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.books = properties.isCompact() ? new CompactBookCatalog() : new SkipListBookCatalog();
+        TimeGauge.builder("backend.replica.staleness", this, TimeUnit.MILLISECONDS, ReplicatedBookRepository::stalenessMillis)
+                .description("Time since the catalog replica last caught up with the books backend")
+                .register(meterRegistry);
+        Gauge.builder("backend.replica.size", books, BookCatalog::size)
+                .description("Books held in the catalog replica")
+                .register(meterRegistry);
+        Gauge.builder("backend.replica.version", this, replica -> replica.version)
+                .description("Backend catalog version the replica has caught up to")
+                .register(meterRegistry);
+        readSnapshot();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("book-replica-sync-");
+        threadFactory.setDaemon(true);
+        this.syncer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        syncer.scheduleWithFixedDelay(this::sync, properties.getInitialSyncDelay().toMillis(),
+                properties.getSyncInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return loaded ? snapshotBooks() : delegate.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        if (loaded) {
+            books.forEach(consumer);
+        } else {
+            delegate.streamAll(consumer);
+        }
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        if (!loaded) {
+            return delegate.findPage(request);
+        }
+        List<Book> content = books.page(request.getAfter(), request.getOffset(), request.getSize() + 1);
+        boolean hasNext = content.size() > request.getSize();
+        return new BookPage(hasNext ? content.subList(0, request.getSize()) : content, hasNext);
+    }
+
+    // A miss may be a book created on another node since the last sync, so it is looked up in the backend
+    @Override
+    public Book findById(Long id) {
+        Book book = loaded ? books.get(id) : null;
+        return book != null ? book : replicate(delegate.findById(id));
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        if (!loaded) {
+            return delegate.findAllById(ids);
+        }
+        Map<Long, Book> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Book book = books.get(id);
+            found.put(id, book);
+            if (book == null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Book book : delegate.findAllById(missing)) {
+                found.put(book.getId(), replicate(book));
+            }
+        }
+        return found.values().stream().filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Book save(Book book) {
+        return replicate(delegate.save(book));
+    }
+
+    @Override
+    public CompletableFuture<Book> saveAsync(Book book) {
+        return delegate.saveAsync(book).thenApply(this::replicate);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        Map<Long, Optional<Book>> writes = writesDuringSync;
+        if (writes != null) {
+            writes.put(id, Optional.empty());
+        }
+        books.remove(id);
+    }
+
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        return delegate.findChanges(sinceVersion);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Catches up with the backend once; runs on the sync thread, and is exposed for tests.
+     */
+    public synchronized void sync() {
+        long since = version;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String type = "full";
+        String outcome = "success";
+        writesDuringSync = new ConcurrentHashMap<>();
+        try {
+            BookChanges changes = delegate.findChanges(since);
+            // A version lower than ours means the backend's catalog was reset; its deltas no longer line up
+            if (!changes.isFull() && changes.getVersion() < since) {
+                log.warn("Books backend went back from catalog version {} to {}; reloading the replica", since, changes.getVersion());
+                changes = delegate.findChanges(-1);
+            }
+            type = changes.isFull() ? "full" : "delta";
+            apply(changes);
+            writeSnapshotIfDue();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.warn("Could not sync the book replica from catalog version {}", since, e);
+        } finally {
+            writesDuringSync = null;
+            sample.stop(Timer.builder("backend.replica.sync")
+                    .description("Time taken to catch the catalog replica up with the books backend")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void close() {
+        // Interrupting the sync thread would abort a snapshot write with a ClosedByInterruptException,
+        // so a running sync is given the chance to finish first
+        syncer.shutdown();
+        try {
+            if (!syncer.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Book replica sync still running after {}; interrupting it", properties.getShutdownTimeout());
+                syncer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            syncer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (snapshotOutdated) {
+                writeSnapshot();
+            }
+        }
+    }
+
+    private void apply(BookChanges changes) {
+        if (changes.isFull()) {
+            long[] ids = new long[changes.getBooks().size()];
+            int count = 0;
+            for (Book book : changes.getBooks()) {
+                books.put(book);
+                ids[count++] = book.getId();
+            }
+            Arrays.sort(ids);
+            books.retain(id -> Arrays.binarySearch(ids, id) >= 0);
+        } else {
+            changes.getBooks().forEach(books::put);
+            changes.getDeleted().forEach(books::remove);
+        }
+        if (changes.isFull() || !changes.getBooks().isEmpty() || !changes.getDeleted().isEmpty()) {
+            snapshotOutdated = true;
+        }
+        // The changes may predate writes made through this node since the sync began; those are recorded before
+        // they touch the replica, so each one is either re-applied here or lands after this
+        writesDuringSync.forEach((id, book) -> book.ifPresentOrElse(books::put, () -> books.remove(id)));
+        version = changes.getVersion();
+        syncedAtMillis = System.currentTimeMillis();
+        loaded = true;
+    }
+
+    private Book replicate(Book book) {
+        if (book != null && book.getId() != null) {
+            Map<Long, Optional<Book>> writes = writesDuringSync;
+            if (writes != null) {
+                writes.put(book.getId(), Optional.of(book));
+            }
+            books.put(book);
+        }
+        return book;
+    }
+
+    private List<Book> snapshotBooks() {
+        List<Book> snapshot = new ArrayList<>(books.size());
+        books.forEach(snapshot::add);
+        return snapshot;
+    }
+
+    private double stalenessMillis() {
+        return loaded ? System.currentTimeMillis() - syncedAtMillis : Double.NaN;
+    }
+
+    private void readSnapshot() {
+        if (properties.getSnapshotPath() == null) {
+            return;
+        }
+        try {
+            BookSnapshot snapshot = BookSnapshot.read(properties.getSnapshotPath());
+            if (snapshot != null) {
+                snapshot.books().forEach(books::put);
+                version = snapshot.version();
+                syncedAtMillis = snapshot.syncedAtMillis();
+                loaded = true;
+                nextSnapshotNanos = System.nanoTime() + properties.getSnapshotInterval().toNanos();
+                log.info("Loaded {} books at catalog version {} from {}", books.size(), version, properties.getSnapshotPath());
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable book snapshot {}", properties.getSnapshotPath(), e);
+        }
+    }
+
+    private void writeSnapshotIfDue() {
+        if (snapshotOutdated && System.nanoTime() - nextSnapshotNanos >= 0) {
+            writeSnapshot();
+        }
+    }
+
+    private void writeSnapshot() {
+        if (properties.getSnapshotPath() == null) {
+            return;
+        }
+        try {
+            new BookSnapshot(version, syncedAtMillis, snapshotBooks()).write(properties.getSnapshotPath());
+            snapshotOutdated = false;
+        } catch (IOException e) {
+            log.warn("Could not write book snapshot {}", properties.getSnapshotPath(), e);
+        }
+        nextSnapshotNanos = System.nanoTime() + properties.getSnapshotInterval().toNanos();
+    }
+}
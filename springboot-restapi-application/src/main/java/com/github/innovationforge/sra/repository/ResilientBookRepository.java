@@ -0,0 +1,287 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.innovationforge.sra.config.BookResilienceProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Guards every backend call with a per-method bulkhead, a circuit breaker and an {@link AimdLimiter}, so a slow
+ * backend costs rejected calls rather than every request thread. The listing calls, whose latency grows with the
+ * catalog, have a circuit breaker of their own and bypass the limiter, so a slow listing cannot shrink the limit
+ * or open the circuit for single-book calls. Calls that are not let through, or that fail with anything but a
+ * 4xx answer, are served from a successful read no older than the stale TTL when there is one; otherwise they
+ * fail with {@link BackendUnavailableException}.
+ */
+public class ResilientBookRepository implements BookRepository {
+
+    public static final String CIRCUIT_BREAKER = "backend";
+
+    public static final String LISTING_CIRCUIT_BREAKER = "backend-listing";
+
+    private static final Set<String> LISTING_METHODS = Set.of("findAll", "streamAll", "findPage", "findChanges");
+
+    private static final List<String> METHODS = List.of("findAll", "streamAll", "findPage", "findById", "findAllById", "save", "deleteById", "findChanges");
+
+    private final BookRepository delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final CircuitBreaker listingCircuitBreaker;
+
+    private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    private final AimdLimiter limiter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<Long, Book> staleBooks;
+
+    private final Cache<Boolean, List<Book>> staleListing;
+
+    public ResilientBookRepository(BookRepository delegate, BookResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDuration())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                // A 4xx is the backend answering, not the backend failing
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(config);
+        this.circuitBreaker = circuitBreakers.circuitBreaker(CIRCUIT_BREAKER);
+        this.listingCircuitBreaker = circuitBreakers.circuitBreaker(LISTING_CIRCUIT_BREAKER, CircuitBreakerConfig.from(config)
+                .slowCallDurationThreshold(properties.getListingSlowCallDuration())
+                .build());
+        for (CircuitBreaker breaker : List.of(circuitBreaker, listingCircuitBreaker)) {
+            breaker.getEventPublisher().onStateTransition(event -> Counter.builder("backend.circuit.transitions")
+                    .description("Circuit breaker state changes for the books backend")
+                    .tag("name", breaker.getName())
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .register(meterRegistry)
+                    .increment());
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        for (String method : METHODS) {
+            bulkheads.put(method, bulkheadRegistry.bulkhead(method, BulkheadConfig.custom()
+                    .maxConcurrentCalls(properties.getBulkheads().getOrDefault(method, properties.getBulkheadDefault()))
+                    .maxWaitDuration(properties.getBulkheadMaxWait())
+                    .build()));
+        }
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        this.limiter = new AimdLimiter(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getBackoffRatio(), properties.getLatencyThreshold().toNanos());
+        Gauge.builder("backend.limit", limiter, AimdLimiter::getLimit)
+                .description("Adaptive limit on concurrent calls to the books backend")
+                .register(meterRegistry);
+        Gauge.builder("backend.limit.inflight", limiter, AimdLimiter::getInFlight)
+                .description("Calls to the books backend counted against the adaptive limit")
+                .register(meterRegistry);
+
+        this.staleBooks = Caffeine.newBuilder()
+                .maximumSize(properties.getStaleCacheSize())
+                .expireAfterWrite(properties.getStaleTtl())
+                .build();
+        this.staleListing = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(properties.getStaleTtl())
+                .build();
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return read("findAll", delegate::findAll, () -> staleListing.getIfPresent(true), books -> staleListing.put(true, books));
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        try {
+            call("streamAll", () -> {
+                delegate.streamAll(consumer);
+                return null;
+            });
+        } catch (BackendUnavailableException e) {
+            // Only when nothing was streamed yet; a failure part way through cannot be patched up
+            List<Book> stale = staleListing.getIfPresent(true);
+            if (stale == null) {
+                throw e;
+            }
+            staleServed("streamAll");
+            stale.forEach(consumer);
+        }
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        return call("findPage", () -> delegate.findPage(request));
+    }
+
+    @Override
+    public Book findById(Long id) {
+        return read("findById", () -> delegate.findById(id), () -> staleBooks.getIfPresent(id), book -> staleBooks.put(id, book));
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        return read("findAllById", () -> delegate.findAllById(ids), () -> staleBooksFor(ids), books -> books.forEach(this::remember));
+    }
+
+    @Override
+    public Book save(Book book) {
+        Book saved = call("save", () -> delegate.save(book));
+        if (book.getId() != null) {
+            staleBooks.invalidate(book.getId());
+        }
+        remember(saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        call("deleteById", () -> {
+            delegate.deleteById(id);
+            return null;
+        });
+        staleBooks.invalidate(id);
+    }
+
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        return call("findChanges", () -> delegate.findChanges(sinceVersion));
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public CircuitBreaker.State listingCircuitState() {
+        return listingCircuitBreaker.getState();
+    }
+
+    private <T> T read(String method, Supplier<T> call, Supplier<T> stale, Consumer<T> remember) {
+        try {
+            T result = call(method, call);
+            if (result != null) {
+                remember.accept(result);
+            }
+            return result;
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            T fallback = stale.get();
+            if (fallback == null) {
+                throw e;
+            }
+            staleServed(method);
+            return fallback;
+        }
+    }
+
+    private <T> T call(String method, Supplier<T> call) {
+        Bulkhead bulkhead = bulkheads.get(method);
+        if (!bulkhead.tryAcquirePermission()) {
+            throw rejected(method, "bulkhead_full");
+        }
+        try {
+            boolean listing = LISTING_METHODS.contains(method);
+            CircuitBreaker breaker = listing ? listingCircuitBreaker : circuitBreaker;
+            if (!breaker.tryAcquirePermission()) {
+                throw rejected(method, "circuit_open");
+            }
+            if (!listing && !limiter.tryAcquire()) {
+                breaker.releasePermission();
+                throw rejected(method, "limit_reached");
+            }
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                T result = call.get();
+                breaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                // Errors too, as resilience4j's own decorators do, or a half-open breaker keeps its permission
+                failed = !(e instanceof HttpClientErrorException);
+                breaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            } finally {
+                if (!listing) {
+                    limiter.release(System.nanoTime() - start, failed);
+                }
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private BackendUnavailableException rejected(String method, String reason) {
+        Counter.builder("backend.rejected")
+                .description("Backend calls refused without reaching the books backend")
+                .tag("method", method)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new BackendUnavailableException("Books backend unavailable for " + method + ": " + reason);
+    }
+
+    private void staleServed(String method) {
+        Counter.builder("backend.stale")
+                .description("Reads answered from the last successful response while the books backend was unavailable")
+                .tag("method", method)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void remember(Book book) {
+        if (book != null && book.getId() != null) {
+            staleBooks.put(book.getId(), book);
+        }
+    }
+
+    // Answers only if every requested book is known, rather than silently returning part of the result
+    private List<Book> staleBooksFor(Collection<Long> ids) {
+        List<Book> books = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Book book = staleBooks.getIfPresent(id);
+            if (book == null) {
+                return null;
+            }
+            books.add(book);
+        }
+        return books;
+    }
+}
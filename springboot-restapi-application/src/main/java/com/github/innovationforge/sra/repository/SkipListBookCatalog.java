@@ -0,0 +1,58 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.model.Book;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * {@link BookCatalog} over a concurrent skip list of {@link Book} objects: no encoding cost on reads, at a few
+ * hundred bytes per book.
+ */
+public class SkipListBookCatalog implements BookCatalog {
+
+    private final ConcurrentNavigableMap<Long, Book> books = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Book get(long id) {
+        return books.get(id);
+    }
+
+    @Override
+    public void put(Book book) {
+        books.put(book.getId(), book);
+    }
+
+    @Override
+    public void remove(long id) {
+        books.remove(id);
+    }
+
+    @Override
+    public int size() {
+        return books.size();
+    }
+
+    @Override
+    public void forEach(Consumer<Book> consumer) {
+        books.values().forEach(consumer);
+    }
+
+    @Override
+    public List<Book> page(Long after, long offset, int limit) {
+        Collection<Book> candidates = after != null ? books.tailMap(after, false).values() : books.values();
+        return candidates.stream()
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void retain(LongPredicate keep) {
+        books.keySet().removeIf(id -> !keep.test(id));
+    }
+}
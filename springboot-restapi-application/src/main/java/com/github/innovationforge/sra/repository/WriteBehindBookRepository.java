@@ -0,0 +1,260 @@
+package com.github.innovationforge.sra.repository;
+
+import com.github.innovationforge.sra.config.BookWriteBehindProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind for saves. Writes are accepted into a bounded queue and drained by a single thread that keeps at
+ * most {@code parallelism} backend requests in flight, so an ingest burst waits in the queue rather than on
+ * request threads. Every write gets its own future, and writes to the same book id reach the backend in the
+ * order they were accepted. A full queue rejects the write or blocks the caller, depending on the overflow
+ * policy. Closing stops intake and waits for everything already accepted to be written.
+ */
+public class WriteBehindBookRepository implements BookRepository, AutoCloseable {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final BookRepository delegate;
+
+    private final BookWriteBehindProperties properties;
+
+    private final BlockingQueue<Write> queue;
+
+    private final Semaphore inFlight;
+
+    private final ExecutorService workers;
+
+    private final Thread drainer;
+
+    // Accepted writes that have not completed yet, waited for on close
+    private final Set<CompletableFuture<Book>> pending = ConcurrentHashMap.newKeySet();
+
+    // Per book id, completes once the latest write and every earlier one to that id are done, whether they were
+    // sent or rejected; the next write or delete of that id waits for it
+    private final Map<Long, CompletableFuture<Void>> lastWrites = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+
+    private final Timer queueWait;
+
+    private volatile boolean closed;
+
+    public WriteBehindBookRepository(BookRepository delegate, BookWriteBehindProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.inFlight = new Semaphore(properties.getParallelism());
+        this.workers = Executors.newFixedThreadPool(properties.getParallelism(), daemonThreads("book-write-worker-"));
+        this.rejected = Counter.builder("backend.write.rejected")
+                .description("Writes rejected because the write-behind queue was full or closed")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("backend.write.queue.wait")
+                .description("Time writes spent queued before being sent to the books backend")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("backend.write.queue.size", queue, Collection::size)
+                .description("Writes waiting in the write-behind queue")
+                .register(meterRegistry);
+        this.drainer = daemonThreads("book-write-drainer-").newThread(this::drain);
+        drainer.start();
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<Book> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public BookPage findPage(BookPageRequest request) {
+        return delegate.findPage(request);
+    }
+
+    @Override
+    public Book findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Book save(Book book) {
+        return await(saveAsync(book));
+    }
+
+    @Override
+    public CompletableFuture<Book> saveAsync(Book book) {
+        CompletableFuture<Book> result = new CompletableFuture<>();
+        if (closed) {
+            return reject(result, "Write queue is shutting down");
+        }
+        pending.add(result);
+        result.whenComplete((saved, e) -> pending.remove(result));
+        CompletableFuture<Void> previous = null;
+        if (book.getId() != null) {
+            Long id = book.getId();
+            CompletableFuture<Void> written = new CompletableFuture<>();
+            previous = lastWrites.put(id, written);
+            // A rejected write completes at once, so later ones must still wait for the writes before it
+            CompletableFuture<?> settled = previous == null ? result : CompletableFuture.allOf(result, previous);
+            settled.whenComplete((saved, e) -> {
+                written.complete(null);
+                lastWrites.remove(id, written);
+            });
+        }
+        Write write = new Write(book, result, previous, System.nanoTime());
+        if (!offer(write)) {
+            return reject(result, "Write queue is full");
+        }
+        // Closed between the check and the offer, after the drainer's last look at the queue
+        if (closed && queue.remove(write)) {
+            return reject(result, "Write queue is shutting down");
+        }
+        return result;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        CompletableFuture<Void> lastWrite = lastWrites.get(id);
+        if (lastWrite != null) {
+            lastWrite.join();
+        }
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public BookChanges findChanges(long sinceVersion) {
+        return delegate.findChanges(sinceVersion);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        try {
+            drainer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed writes were reported to their callers; unfinished ones are failed below
+        }
+        drainer.interrupt();
+        for (CompletableFuture<Book> result : pending) {
+            result.completeExceptionally(new WriteRejectedException("Write was not completed before shutdown"));
+        }
+        workers.shutdown();
+    }
+
+    private boolean offer(Write write) {
+        if (properties.getOverflow() == BookWriteBehindProperties.Overflow.BLOCK) {
+            try {
+                return queue.offer(write, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return queue.offer(write);
+    }
+
+    private CompletableFuture<Book> reject(CompletableFuture<Book> result, String message) {
+        rejected.increment();
+        result.completeExceptionally(new WriteRejectedException(message));
+        return result;
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                inFlight.acquire();
+                Write write = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (write == null) {
+                    inFlight.release();
+                    continue;
+                }
+                queueWait.record(System.nanoTime() - write.acceptedAt(), TimeUnit.NANOSECONDS);
+                if (write.previous() == null || write.previous().isDone()) {
+                    workers.execute(() -> send(write, true));
+                } else {
+                    // Parked behind an earlier write to the same id without holding a slot, so that write can
+                    // still get one even if it is further back in the queue
+                    inFlight.release();
+                    write.previous().whenComplete((saved, e) -> workers.execute(() -> send(write, false)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(Write write, boolean holdsSlot) {
+        try {
+            write.result().complete(delegate.save(write.book()));
+        } catch (Throwable e) {
+            // Errors too, or the caller and every later write to the id would wait forever
+            write.result().completeExceptionally(e);
+        } finally {
+            if (holdsSlot) {
+                inFlight.release();
+            }
+        }
+    }
+
+    private static Book await(CompletableFuture<Book> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private record Write(Book book, CompletableFuture<Book> result, CompletableFuture<Void> previous, long acceptedAt) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.innovationforge.sra.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the write-behind queue is full or shutting down and a write cannot be accepted.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class WriteRejectedException extends RuntimeException {
+
+    public WriteRejectedException(String message) {
+        super(message);
+    }
+}
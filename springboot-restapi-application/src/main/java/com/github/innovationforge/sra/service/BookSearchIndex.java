@@ -0,0 +1,366 @@
+package com.github.innovationforge.sra.service;
+
+import com.github.innovationforge.sra.config.BookSearchProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookSearchRequest;
+import com.github.innovationforge.sra.model.BookSearchResult;
+import com.github.innovationforge.sra.repository.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory secondary indexes over the catalog: a hash index on normalised ISBN, a posting-list index on author,
+ * and sorted indexes on the whole title and on each title word for prefix queries. {@link BookService} keeps
+ * them current on every write through this node, and they are rebuilt from the backend listing on startup and
+ * every refresh interval to pick up everything else. A rebuild does not block searches; writes made while it
+ * runs are replayed on top of the rebuilt indexes. Until the first rebuild starts, writes are ignored, so a
+ * disabled index holds nothing.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex implements DisposableBean {
+
+    private static final Pattern WORDS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final BookRepository bookRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService refresher;
+
+    private final Timer searches;
+
+    // Writes seen while a rebuild is running, replayed once it is swapped in; guarded by the write lock, like
+    // the flags, so no write can slip between the check and the swap
+    private final Queue<Write> writesDuringRebuild = new ArrayDeque<>();
+
+    private boolean rebuilding;
+
+    private boolean started;
+
+    private volatile boolean ready;
+
+    private Indexes indexes = new Indexes();
+
+    // Estimated bytes per index as of the last rebuild, so a scrape does not walk the indexes
+    private volatile Map<String, Long> memory = Map.of();
+
+    public BookSearchIndex(BookRepository bookRepository, BookSearchProperties properties, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.meterRegistry = meterRegistry;
+        this.searches = Timer.builder("books.search")
+                .description("Latency of book searches against the in-memory indexes")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("books.index.size", this, index -> index.read(indexes -> indexes.books.size()))
+                .description("Books in the search indexes")
+                .register(meterRegistry);
+        for (String index : List.of("books", "isbn", "author", "title", "word")) {
+            Gauge.builder("books.index.memory", this, searchIndex -> searchIndex.memory.getOrDefault(index, 0L))
+                    .description("Estimated heap held by a search index at its last rebuild, excluding the books themselves")
+                    .baseUnit("bytes")
+                    .tag("index", index)
+                    .register(meterRegistry);
+        }
+        if (properties.isEnabled()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("book-search-refresh-");
+            threadFactory.setDaemon(true);
+            refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            refresher.scheduleWithFixedDelay(this::refresh, 0, properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            refresher = null;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        write(indexes -> {
+            if (started) {
+                record(new Write(book.getId(), book));
+                indexes.put(book);
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        write(indexes -> {
+            if (started) {
+                record(new Write(id, null));
+                indexes.remove(id);
+            }
+        });
+    }
+
+    public BookSearchResult search(BookSearchRequest request) {
+        if (!ready) {
+            throw new SearchIndexUnavailableException("Search indexes are still being built");
+        }
+        return searches.record(() -> read(indexes -> indexes.search(request)));
+    }
+
+    /**
+     * Rebuilds the indexes from the backend listing; runs on the refresh thread, and is exposed for tests.
+     */
+    public synchronized void refresh() {
+        write(indexes -> {
+            started = true;
+            rebuilding = true;
+        });
+        try {
+            Map<Long, Book> listing = new HashMap<>();
+            bookRepository.streamAll(book -> {
+                if (book.getId() != null) {
+                    listing.put(book.getId(), book);
+                }
+            });
+            Indexes rebuilt = Indexes.build(listing);
+            memory = rebuilt.memory();
+            write(indexes -> {
+                Write write;
+                while ((write = writesDuringRebuild.poll()) != null) {
+                    if (write.book() == null) {
+                        rebuilt.remove(write.id());
+                    } else {
+                        rebuilt.put(write.book());
+                    }
+                }
+                this.indexes = rebuilt;
+                rebuilding = false;
+            });
+            ready = true;
+            log.debug("Rebuilt the search indexes with {} books", rebuilt.books.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the search indexes", e);
+        } finally {
+            write(indexes -> {
+                rebuilding = false;
+                writesDuringRebuild.clear();
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    // Called under the write lock
+    private void record(Write write) {
+        if (rebuilding) {
+            writesDuringRebuild.add(write);
+        }
+    }
+
+    private <T> T read(Function<Indexes, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(indexes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Indexes> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(indexes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normaliseIsbn(String isbn) {
+        return isbn == null ? null : isbn.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+    }
+
+    static String normaliseText(String text) {
+        return text == null ? null : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : WORDS.split(text.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    // A write to replay after a rebuild; no book means the id was deleted
+    private record Write(Long id, Book book) {
+    }
+
+    private static final class Indexes {
+
+        private final Map<Long, Book> books;
+
+        private final Map<String, long[]> isbns = new HashMap<>();
+
+        private final Map<String, long[]> authors = new HashMap<>();
+
+        private final NavigableMap<String, long[]> titles = new TreeMap<>();
+
+        private final NavigableMap<String, long[]> words = new TreeMap<>();
+
+        Indexes() {
+            this(new HashMap<>());
+        }
+
+        private Indexes(Map<Long, Book> books) {
+            this.books = books;
+        }
+
+        // Collects every posting list in a growable buffer and sorts it once, rather than copying it per book
+        static Indexes build(Map<Long, Book> books) {
+            Map<String, Postings.Builder> isbns = new HashMap<>();
+            Map<String, Postings.Builder> authors = new HashMap<>();
+            Map<String, Postings.Builder> titles = new HashMap<>();
+            Map<String, Postings.Builder> words = new HashMap<>();
+            for (Book book : books.values()) {
+                long id = book.getId();
+                collect(isbns, normaliseIsbn(book.getIsbn()), id);
+                collect(authors, normaliseText(book.getAuthor()), id);
+                collect(titles, normaliseText(book.getTitle()), id);
+                for (String word : words(book.getTitle())) {
+                    collect(words, word, id);
+                }
+            }
+            Indexes indexes = new Indexes(books);
+            isbns.forEach((key, postings) -> indexes.isbns.put(key, postings.build()));
+            authors.forEach((key, postings) -> indexes.authors.put(key, postings.build()));
+            titles.forEach((key, postings) -> indexes.titles.put(key, postings.build()));
+            words.forEach((key, postings) -> indexes.words.put(key, postings.build()));
+            return indexes;
+        }
+
+        void put(Book book) {
+            remove(book.getId());
+            long id = book.getId();
+            books.put(id, book);
+            add(isbns, normaliseIsbn(book.getIsbn()), id);
+            add(authors, normaliseText(book.getAuthor()), id);
+            add(titles, normaliseText(book.getTitle()), id);
+            for (String word : words(book.getTitle())) {
+                add(words, word, id);
+            }
+        }
+
+        void remove(Long id) {
+            Book book = books.remove(id);
+            if (book == null) {
+                return;
+            }
+            remove(isbns, normaliseIsbn(book.getIsbn()), id);
+            remove(authors, normaliseText(book.getAuthor()), id);
+            remove(titles, normaliseText(book.getTitle()), id);
+            for (String word : words(book.getTitle())) {
+                remove(words, word, id);
+            }
+        }
+
+        // Each criterion narrows the ids by intersection; the most selective lookups come first
+        BookSearchResult search(BookSearchRequest request) {
+            long[] ids = null;
+            if (request.getIsbn() != null) {
+                ids = narrow(ids, isbns.getOrDefault(normaliseIsbn(request.getIsbn()), Postings.EMPTY));
+            }
+            if (request.getAuthor() != null) {
+                ids = narrow(ids, authors.getOrDefault(normaliseText(request.getAuthor()), Postings.EMPTY));
+            }
+            if (request.getTitle() != null) {
+                ids = narrow(ids, prefixed(titles, normaliseText(request.getTitle())));
+            }
+            for (String word : words(request.getQ())) {
+                ids = narrow(ids, prefixed(words, word));
+            }
+            if (ids == null) {
+                ids = Postings.EMPTY;
+            }
+            List<Book> content = new ArrayList<>(Math.min(ids.length, request.getLimit()));
+            for (int i = 0; i < ids.length && content.size() < request.getLimit(); i++) {
+                content.add(books.get(ids[i]));
+            }
+            return new BookSearchResult(content, ids.length);
+        }
+
+        Map<String, Long> memory() {
+            // HashMap entry and table slot, plus the boxed id key
+            return Map.of("books", books.size() * (48L + 16L),
+                    "isbn", stringKeyedBytes(isbns),
+                    "author", stringKeyedBytes(authors),
+                    "title", stringKeyedBytes(titles),
+                    "word", stringKeyedBytes(words));
+        }
+
+        private static long stringKeyedBytes(Map<String, long[]> index) {
+            long bytes = 0;
+            for (Map.Entry<String, long[]> entry : index.entrySet()) {
+                // Map entry, String header and Latin-1 characters, posting array
+                bytes += 48 + 40 + entry.getKey().length() + Postings.bytes(entry.getValue());
+            }
+            return bytes;
+        }
+
+        private static long[] narrow(long[] ids, long[] matches) {
+            return ids == null ? matches : Postings.intersect(ids, matches);
+        }
+
+        private static long[] prefixed(NavigableMap<String, long[]> index, String prefix) {
+            return Postings.union(index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+        }
+
+        private static void collect(Map<String, Postings.Builder> index, String key, long id) {
+            if (key != null && !key.isEmpty()) {
+                index.computeIfAbsent(key, ignored -> new Postings.Builder()).add(id);
+            }
+        }
+
+        private static void add(Map<String, long[]> index, String key, long id) {
+            if (key != null && !key.isEmpty()) {
+                index.compute(key, (ignored, postings) -> Postings.add(postings, id));
+            }
+        }
+
+        private static void remove(Map<String, long[]> index, String key, long id) {
+            if (key != null && !key.isEmpty()) {
+                index.computeIfPresent(key, (ignored, postings) -> Postings.remove(postings, id));
+            }
+        }
+    }
+}
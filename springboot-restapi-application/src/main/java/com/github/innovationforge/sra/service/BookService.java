@@ -1,13 +1,31 @@
 package com.github.innovationforge.sra.service;
 
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BulkImportResult;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import com.github.innovationforge.sra.model.BookSearchRequest;
+import com.github.innovationforge.sra.model.BookSearchResult;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface BookService {
     List<Book> getAllBooks();
+    void streamAllBooks(Consumer<Book> consumer);
+    BookPage getBookPage(BookPageRequest request);
     Book getBook(Long id);
+    List<Book> getBooks(Collection<Long> ids);
+    CompletableFuture<List<Book>> getAllBooksAsync();
+    CompletableFuture<Book> getBookAsync(Long id);
     Book createBook(Book book);
     Book updateBook(Long id, Book book);
+    CompletableFuture<Book> createBookAsync(Book book);
+    CompletableFuture<Book> updateBookAsync(Long id, Book book);
     void deleteBook(Long id);
+    BulkImportResult importBooks(Iterator<Book> books);
+    BookSearchResult searchBooks(BookSearchRequest request);
 }
\ No newline at end of file
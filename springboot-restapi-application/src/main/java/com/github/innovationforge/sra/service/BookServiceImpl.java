@@ -1,11 +1,37 @@
 package com.github.innovationforge.sra.service;
 
+import com.github.innovationforge.sra.config.BookImportProperties;
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BulkImportBatch;
+import com.github.innovationforge.sra.model.BulkImportResult;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import com.github.innovationforge.sra.model.BookSearchRequest;
+import com.github.innovationforge.sra.model.BookSearchResult;
+import com.github.innovationforge.sra.repository.AsyncBookRepository;
 import com.github.innovationforge.sra.repository.BookRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -13,29 +39,245 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    private final AsyncBookRepository asyncBookRepository;
+
+    private final BookImportProperties importProperties;
+
+    private final Validator validator;
+
+    private final BookSearchIndex bookSearchIndex;
+
     @Override
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
     }
 
+    @Override
+    public void streamAllBooks(Consumer<Book> consumer) {
+        bookRepository.streamAll(consumer);
+    }
+
+    @Override
+    public BookPage getBookPage(BookPageRequest request) {
+        return bookRepository.findPage(request);
+    }
+
     @Override
     public Book getBook(Long id) {
         return bookRepository.findById(id);
     }
 
+    @Override
+    public List<Book> getBooks(Collection<Long> ids) {
+        return bookRepository.findAllById(ids);
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getAllBooksAsync() {
+        return asyncBookRepository.findAll();
+    }
+
+    @Override
+    public CompletableFuture<Book> getBookAsync(Long id) {
+        return asyncBookRepository.findById(id);
+    }
+
     @Override
     public Book createBook(Book book) {
-        return bookRepository.save(book);
+        return indexed(bookRepository.save(book));
     }
 
     @Override
     public Book updateBook(Long id, Book book) {
         // Assuming the repository's save method can also handle updates
-        return bookRepository.save(book);
+        return indexed(bookRepository.save(book));
+    }
+
+    @Override
+    public CompletableFuture<Book> createBookAsync(Book book) {
+        return bookRepository.saveAsync(book).thenApply(this::indexed);
+    }
+
+    @Override
+    public CompletableFuture<Book> updateBookAsync(Long id, Book book) {
+        return bookRepository.saveAsync(book).thenApply(this::indexed);
     }
 
     @Override
     public void deleteBook(Long id) {
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
+    }
+
+    @Override
+    public BookSearchResult searchBooks(BookSearchRequest request) {
+        return bookSearchIndex.search(request);
+    }
+
+    // Records are handed to at most `parallelism` writers and never buffered beyond that, and the summary keeps
+    // running totals plus a bounded number of batches, so memory stays flat however long the upload is
+    @Override
+    public BulkImportResult importBooks(Iterator<Book> books) {
+        int parallelism = importProperties.getParallelism();
+        Semaphore slots = new Semaphore(parallelism);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("book-import-");
+        threadFactory.setDaemon(true);
+        ExecutorService writers = Executors.newFixedThreadPool(parallelism, threadFactory);
+        ImportSummary summary = new ImportSummary(importProperties.getMaxReportedBatches(), importProperties.getMaxErrorsPerBatch());
+        ImportBatch batch = null;
+        String error = null;
+        long record = 0;
+        try {
+            while (books.hasNext()) {
+                Book book = null;
+                String violations;
+                try {
+                    book = books.next();
+                    violations = violations(book);
+                } catch (InvalidRecordException e) {
+                    violations = e.getMessage();
+                }
+                if (record % importProperties.getBatchSize() == 0) {
+                    batch = new ImportBatch((int) (record / importProperties.getBatchSize()) + 1, record + 1);
+                }
+                record++;
+                batch.records++;
+                if (violations != null) {
+                    summary.rejected(batch, record, violations);
+                    continue;
+                }
+                slots.acquire();
+                Book valid = book;
+                ImportBatch current = batch;
+                long position = record;
+                writers.execute(() -> {
+                    try {
+                        indexed(bookRepository.save(valid));
+                        summary.imported(current);
+                    } catch (RuntimeException e) {
+                        summary.failed(current, position, e.getMessage());
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            error = "Could not read record " + (record + 1) + ": " + e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted after record " + record;
+        } finally {
+            slots.acquireUninterruptibly(parallelism);
+            writers.shutdown();
+        }
+        return summary.result(record, error);
+    }
+
+    private Book indexed(Book book) {
+        bookSearchIndex.put(book);
+        return book;
+    }
+
+    private String violations(Book book) {
+        // A JSON null element or line; the validator refuses null outright
+        if (book == null) {
+            return "record is null";
+        }
+        Set<ConstraintViolation<Book>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Totals for the whole upload, and the first batches that had rejected or failed records
+    private static class ImportSummary {
+
+        private final int maxReportedBatches;
+
+        private final int maxErrorsPerBatch;
+
+        private final AtomicLong imported = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final AtomicInteger reportedBatches = new AtomicInteger();
+
+        private final Queue<ImportBatch> reported = new ConcurrentLinkedQueue<>();
+
+        ImportSummary(int maxReportedBatches, int maxErrorsPerBatch) {
+            this.maxReportedBatches = maxReportedBatches;
+            this.maxErrorsPerBatch = maxErrorsPerBatch;
+        }
+
+        void imported(ImportBatch batch) {
+            batch.imported.incrementAndGet();
+            imported.incrementAndGet();
+        }
+
+        void rejected(ImportBatch batch, long record, String message) {
+            batch.rejected.incrementAndGet();
+            rejected.incrementAndGet();
+            error(batch, record, message);
+        }
+
+        void failed(ImportBatch batch, long record, String message) {
+            batch.failed.incrementAndGet();
+            failed.incrementAndGet();
+            error(batch, record, message);
+        }
+
+        private void error(ImportBatch batch, long record, String message) {
+            int errors = batch.errorCount.getAndIncrement();
+            if (errors == 0 && reportedBatches.getAndIncrement() < maxReportedBatches) {
+                reported.add(batch);
+            }
+            if (errors < maxErrorsPerBatch) {
+                batch.errors.add("record " + record + ": " + message);
+            }
+        }
+
+        // Called once every write has completed, so the reported batches are final
+        BulkImportResult result(long records, String error) {
+            List<BulkImportBatch> batches = reported.stream()
+                    .map(ImportBatch::summary)
+                    .sorted(Comparator.comparingInt(BulkImportBatch::getBatch))
+                    .toList();
+            return new BulkImportResult(records, imported.get(), rejected.get(), failed.get(), batches, error);
+        }
+    }
+
+    private static class ImportBatch {
+
+        private final int batch;
+
+        private final long firstRecord;
+
+        private int records;
+
+        private final AtomicInteger imported = new AtomicInteger();
+
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final AtomicInteger errorCount = new AtomicInteger();
+
+        private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+
+        ImportBatch(int batch, long firstRecord) {
+            this.batch = batch;
+            this.firstRecord = firstRecord;
+        }
+
+        BulkImportBatch summary() {
+            return new BulkImportBatch(batch, firstRecord, records, imported.get(), rejected.get(), failed.get(),
+                    List.copyOf(errors));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.github.innovationforge.sra.service;
+
+/**
+ * Thrown by a bulk import's record iterator for a record that was read but could not be mapped to a book, such as
+ * a string where a number belongs. The import counts it as rejected and carries on with the next record.
+ */
+public class InvalidRecordException extends RuntimeException {
+
+    public InvalidRecordException(String message) {
+        super(message);
+    }
+}
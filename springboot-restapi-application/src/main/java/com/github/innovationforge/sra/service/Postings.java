@@ -0,0 +1,115 @@
+package com.github.innovationforge.sra.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Posting lists as sorted {@code long[]} of book ids: 8 bytes per posting, no boxing, and intersections are a
+ * linear merge. Lists are never changed in place; updates return a new array, which suits single writes. Bulk
+ * builds go through a {@link Builder} instead, so a list of n ids costs one sort rather than n copies.
+ */
+final class Postings {
+
+    static final long[] EMPTY = new long[0];
+
+    private Postings() {
+    }
+
+    static long[] add(long[] postings, long id) {
+        if (postings == null) {
+            return new long[]{id};
+        }
+        int index = Arrays.binarySearch(postings, id);
+        if (index >= 0) {
+            return postings;
+        }
+        int insertAt = -index - 1;
+        long[] added = new long[postings.length + 1];
+        System.arraycopy(postings, 0, added, 0, insertAt);
+        added[insertAt] = id;
+        System.arraycopy(postings, insertAt, added, insertAt + 1, postings.length - insertAt);
+        return added;
+    }
+
+    /**
+     * Returns the postings without {@code id}, or {@code null} when none are left.
+     */
+    static long[] remove(long[] postings, long id) {
+        if (postings == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(postings, id);
+        if (index < 0) {
+            return postings;
+        }
+        if (postings.length == 1) {
+            return null;
+        }
+        long[] removed = new long[postings.length - 1];
+        System.arraycopy(postings, 0, removed, 0, index);
+        System.arraycopy(postings, index + 1, removed, index, postings.length - index - 1);
+        return removed;
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static long[] union(Collection<long[]> lists) {
+        if (lists.size() == 1) {
+            return lists.iterator().next();
+        }
+        return lists.stream()
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    static long bytes(long[] postings) {
+        return 16 + 8L * postings.length;
+    }
+
+    /**
+     * Collects ids in any order into a growable buffer; {@link #build()} sorts and de-duplicates them once.
+     */
+    static final class Builder {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] build() {
+            Arrays.sort(ids, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                    ids[distinct++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(ids, distinct);
+        }
+    }
+}
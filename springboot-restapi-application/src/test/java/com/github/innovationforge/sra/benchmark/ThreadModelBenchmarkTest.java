@@ -0,0 +1,139 @@
+package com.github.innovationforge.sra.benchmark;
+
+import com.github.innovationforge.sra.SpringbootRestapiApplication;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares platform-thread and virtual-thread request handling against a slow backend.
+ * Run with {@code mvn test -Dtest=ThreadModelBenchmarkTest -Dbenchmark=true}; the virtual
+ * thread case additionally needs a JDK 21 runtime. The cache, coalescing, batching and resilience
+ * layers are turned off, so the backend concurrency is bounded only by the request threads and the
+ * connection pool being compared.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Thread Model Benchmark")
+public class ThreadModelBenchmarkTest {
+
+    private static final int CONCURRENT_REQUESTS = Integer.getInteger("benchmark.requests", 2000);
+
+    private static final int BACKEND_DELAY_MILLIS = Integer.getInteger("benchmark.backendDelay", 200);
+
+    private static WireMockServer backend;
+
+    @BeforeAll
+    static void startBackend() {
+        backend = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(256)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(16)
+                .disableRequestJournal());
+        backend.start();
+        backend.stubFor(get(urlPathMatching("/api/books/[0-9]+"))
+                .willReturn(okJson("{\"id\":1,\"title\":\"Book1\",\"author\":\"Author1\",\"isbn\":\"ISBN1\"}")
+                        .withFixedDelay(BACKEND_DELAY_MILLIS)));
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.stop();
+    }
+
+    @Test
+    @DisplayName("Platform threads (Tomcat worker pool)")
+    public void platformThreads() throws Exception {
+        run("platform", false);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Virtual threads")
+    public void virtualThreads() throws Exception {
+        run("virtual", true);
+    }
+
+    private void run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootRestapiApplication.class)
+                .run("--server.port=0",
+                        "--backend.api.url=" + backend.baseUrl() + "/api/books",
+                        "--http.connection.maxConnTotal=" + CONCURRENT_REQUESTS,
+                        "--http.connection.maxConnPerRoute=" + CONCURRENT_REQUESTS,
+                        "--http.connection.poolConcurrencyPolicy=LAX",
+                        "--http.connection.connectionRequestTimeout=30s",
+                        "--backend.cache.enabled=false",
+                        "--backend.coalescing.enabled=false",
+                        "--backend.batch.enabled=false",
+                        "--backend.resilience.enabled=false",
+                        "--backend.search.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/books/";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+
+            long[] latencies = new long[CONCURRENT_REQUESTS];
+            List<CompletableFuture<Integer>> responses = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                int request = i;
+                long sent = System.nanoTime();
+                HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + (i + 1))).GET().build();
+                responses.add(client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> {
+                            latencies[request] = System.nanoTime() - sent;
+                            return response.statusCode();
+                        }));
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+            long elapsed = System.nanoTime() - start;
+
+            for (CompletableFuture<Integer> response : responses) {
+                assertEquals(200, response.join());
+            }
+            Arrays.sort(latencies);
+            log.info("{} requests={} backendDelay={}ms elapsed={}ms throughput={} req/s p50={}ms p99={}ms max={}ms peakThreads={}",
+                    mode, CONCURRENT_REQUESTS, BACKEND_DELAY_MILLIS,
+                    elapsed / 1_000_000, Math.round(CONCURRENT_REQUESTS / (elapsed / 1e9)),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000_000,
+                    threads.getPeakThreadCount());
+        }
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000;
+    }
+}
@@ -1,23 +1,41 @@
 package com.github.innovationforge.sra.slice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.innovationforge.sra.config.WireFormatConfig;
+import com.github.innovationforge.sra.config.WireFormats;
 import com.github.innovationforge.sra.controller.BookController;
+import com.github.innovationforge.sra.controller.BookETags;
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import com.github.innovationforge.sra.model.BookSearchRequest;
+import com.github.innovationforge.sra.model.BookSearchResult;
+import com.github.innovationforge.sra.model.BulkImportResult;
 import com.github.innovationforge.sra.service.BookService;
+import com.github.innovationforge.sra.service.InvalidRecordException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookController.class)
+@Import(WireFormatConfig.class)
 public class BookControllerMockMvcTest {
 
     @Autowired
@@ -28,6 +46,10 @@ public class BookControllerMockMvcTest {
 
     private static final String ENDPOINT = "/api/books";
 
+    private static final ObjectMapper SMILE_MAPPER = WireFormats.objectMapper(new ObjectMapper(), WireFormats.APPLICATION_SMILE);
+
+    private static final ObjectMapper CBOR_MAPPER = WireFormats.objectMapper(new ObjectMapper(), WireFormats.APPLICATION_CBOR);
+
     @Test
     public void testGetAllBooks() throws Exception {
         Book book1 = createBook(1L, "Book 1");
@@ -42,6 +64,128 @@ public class BookControllerMockMvcTest {
             .andExpect(jsonPath("$[1].title").value("Book 2"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamAllBooks() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book1);
+            consumer.accept(book2);
+            return null;
+        }).when(bookService).streamAllBooks(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get(ENDPOINT).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(
+                "{\"id\":1,\"title\":\"Book 1\",\"author\":null,\"isbn\":null}\n"
+                + "{\"id\":2,\"title\":\"Book 2\",\"author\":null,\"isbn\":null}\n"));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    public void testGetBookPageWithCursor() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        when(bookService.getBookPage(new BookPageRequest(null, 2, null, List.of("title"))))
+            .thenReturn(new BookPage(Arrays.asList(book1, book2), true));
+
+        mockMvc.perform(get(ENDPOINT + "?size=2&fields=title"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].title").value("Book 1"))
+            .andExpect(jsonPath("$.content[0].id").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").value(2))
+            .andExpect(jsonPath("$.next").value("http://localhost/api/books?size=2&fields=title&after=2"))
+            .andExpect(header().string("Link", "<http://localhost/api/books?size=2&fields=title&after=2>; rel=\"next\""));
+    }
+
+    @Test
+    public void testGetBookPageByNumber() throws Exception {
+        Book book3 = createBook(3L, "Book 3");
+
+        when(bookService.getBookPage(new BookPageRequest(1, 2, null, null)))
+            .thenReturn(new BookPage(List.of(book3), false));
+
+        mockMvc.perform(get(ENDPOINT).param("size", "2").param("page", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(3))
+            .andExpect(jsonPath("$.page").value(1))
+            .andExpect(jsonPath("$.next").doesNotExist())
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    public void testGetFirstBookPage() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(bookService.getBookPage(new BookPageRequest(null, 2, null, null)))
+            .thenReturn(new BookPage(List.of(book1), false));
+
+        mockMvc.perform(get(ENDPOINT).param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(1));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    public void testGetBookPageRejectsNegativePage() throws Exception {
+        mockMvc.perform(get(ENDPOINT).param("size", "2").param("page", "-1"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    public void testGetBookPageRequiresSize() throws Exception {
+        mockMvc.perform(get(ENDPOINT).param("page", "1"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get(ENDPOINT).param("after", "10"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    public void testGetBookPageRejectsUnknownField() throws Exception {
+        mockMvc.perform(get(ENDPOINT).param("size", "2").param("fields", "price"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    public void testSearchBooks() throws Exception {
+        Book book1 = createBook(1L, "The Hobbit");
+
+        when(bookService.searchBooks(new BookSearchRequest(null, "Tolkien", "the h", null, 5)))
+            .thenReturn(new BookSearchResult(List.of(book1), 3));
+
+        mockMvc.perform(get(ENDPOINT + "/search").param("author", "Tolkien").param("title", "the h").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].title").value("The Hobbit"))
+            .andExpect(jsonPath("$.total").value(3));
+    }
+
+    @Test
+    public void testSearchBooksRequiresCriteria() throws Exception {
+        mockMvc.perform(get(ENDPOINT + "/search").param("q", " "))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get(ENDPOINT + "/search").param("isbn", "123").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
     @Test
     public void testGetBook() throws Exception {
         Book book1 = createBook(1L, "Book 1");
@@ -54,6 +198,147 @@ public class BookControllerMockMvcTest {
             .andExpect(jsonPath("$.title").value("Book 1"));
     }
 
+    @Test
+    public void testGetBooks() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        when(bookService.getBooks(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(book1, book2));
+
+        mockMvc.perform(get(ENDPOINT).param("ids", "1,2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[0].title").value("Book 1"))
+            .andExpect(jsonPath("$[1].title").value("Book 2"));
+
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    public void testGetBooksIgnoresSize() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        when(bookService.getBooks(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(book1, book2));
+
+        mockMvc.perform(get(ENDPOINT).param("ids", "1,2").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].title").value("Book 1"))
+            .andExpect(jsonPath("$[1].title").value("Book 2"));
+
+        verify(bookService, never()).getBookPage(any());
+    }
+
+    @Test
+    public void testGetBookIsNotModified() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        String eTag = BookETags.of(book1);
+
+        when(bookService.getBook(1L)).thenReturn(book1);
+
+        mockMvc.perform(get(ENDPOINT + "/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", eTag));
+
+        mockMvc.perform(get(ENDPOINT + "/1").header("If-None-Match", eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testImportBooksNdjson() throws Exception {
+        List<Book> imported = stubImport();
+
+        mockMvc.perform(post(ENDPOINT + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"Book 1\"}\n{\"title\":\"Book 2\"}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.records").value(2))
+            .andExpect(jsonPath("$.error").doesNotExist());
+
+        assertEquals(Arrays.asList(createBook(null, "Book 1"), createBook(null, "Book 2")), imported);
+    }
+
+    @Test
+    public void testImportBooksJsonArray() throws Exception {
+        List<Book> imported = stubImport();
+
+        mockMvc.perform(post(ENDPOINT + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Book 1\"},{\"title\":\"Book 2\"},{\"title\":\"Book 3\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.records").value(3));
+
+        assertEquals(3, imported.size());
+    }
+
+    @Test
+    public void testImportBooksRejectsMistypedRecord() throws Exception {
+        List<Book> imported = stubImport();
+
+        mockMvc.perform(post(ENDPOINT + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"Book 1\"}\n{\"id\":\"abc\",\"title\":\"Book 2\"}\n{\"title\":\"Book 3\"}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.records").value(3))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.error").doesNotExist());
+
+        assertEquals(Arrays.asList(createBook(null, "Book 1"), createBook(null, "Book 3")), imported);
+    }
+
+    @Test
+    public void testImportBooksRejectsNullRecord() throws Exception {
+        List<Book> imported = stubImport();
+
+        mockMvc.perform(post(ENDPOINT + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Book 1\"},null,{\"title\":\"Book 3\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.records").value(3))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.error").doesNotExist());
+
+        assertEquals(Arrays.asList(createBook(null, "Book 1"), createBook(null, "Book 3")), imported);
+    }
+
+    @Test
+    public void testImportBooksMalformed() throws Exception {
+        List<Book> imported = stubImport();
+
+        mockMvc.perform(post(ENDPOINT + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"Book 1\"}\n{\"title\":"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.records").value(1))
+            .andExpect(jsonPath("$.error").exists());
+
+        assertEquals(1, imported.size());
+    }
+
+    // Drains the parsed records the way the service would and reports how many were read and rejected
+    @SuppressWarnings("unchecked")
+    private List<Book> stubImport() {
+        List<Book> imported = new ArrayList<>();
+        when(bookService.importBooks(any(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<Book> books = invocation.getArgument(0);
+            int rejected = 0;
+            try {
+                while (books.hasNext()) {
+                    try {
+                        imported.add(books.next());
+                    } catch (InvalidRecordException e) {
+                        rejected++;
+                    }
+                }
+                return new BulkImportResult(imported.size() + rejected, imported.size(), rejected, 0, List.of(), null);
+            } catch (RuntimeException e) {
+                return new BulkImportResult(imported.size() + rejected, imported.size(), rejected, 0, List.of(), e.getMessage());
+            }
+        });
+        return imported;
+    }
+
     @Test
     public void testCreateBook() throws Exception {
         Book newBook = createBook(null, "New Book");
@@ -69,6 +354,38 @@ public class BookControllerMockMvcTest {
             .andExpect(jsonPath("$.title").value("New Book"));
     }
 
+    @Test
+    public void testGetAllBooksSmile() throws Exception {
+        List<Book> books = Arrays.asList(createBook(1L, "Book 1"), createBook(2L, "Book 2"));
+
+        when(bookService.getAllBooks()).thenReturn(books);
+
+        byte[] body = mockMvc.perform(get(ENDPOINT).accept(WireFormats.APPLICATION_SMILE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(WireFormats.APPLICATION_SMILE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(books, Arrays.asList(SMILE_MAPPER.readValue(body, Book[].class)));
+    }
+
+    @Test
+    public void testCreateBookCbor() throws Exception {
+        Book newBook = createBook(null, "New Book");
+        Book savedBook = createBook(1L, "New Book");
+
+        when(bookService.createBook(newBook)).thenReturn(savedBook);
+
+        byte[] body = mockMvc.perform(post(ENDPOINT)
+                .contentType(WireFormats.APPLICATION_CBOR)
+                .accept(WireFormats.APPLICATION_CBOR)
+                .content(CBOR_MAPPER.writeValueAsBytes(newBook)))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentType(WireFormats.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(savedBook, CBOR_MAPPER.readValue(body, Book.class));
+    }
+
     @Test
     public void testUpdateBook() throws Exception {
         Book updatedBook = createBook(1L, "Updated Book");
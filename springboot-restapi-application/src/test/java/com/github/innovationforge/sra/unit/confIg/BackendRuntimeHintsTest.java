@@ -0,0 +1,28 @@
+package com.github.innovationforge.sra.unit.confIg;
+
+import com.github.innovationforge.sra.config.BackendRuntimeHints;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookRepositoryImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Backend Runtime Hints Tests")
+public class BackendRuntimeHintsTest {
+
+    @Test
+    @DisplayName("Test the backend payloads are registered for reflective binding")
+    public void testPayloadsRegistered() {
+        RuntimeHints hints = new RuntimeHints();
+        new BackendRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Book.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Book[].class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(BookRepositoryImpl.class.getName() + "$BookChange")).test(hints));
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.innovationforge.sra.unit.confIg;
+
+import com.github.innovationforge.sra.config.Http2ServerConfig;
+import com.github.innovationforge.sra.config.Http2ServerProperties;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Tests for Http2ServerConfig")
+public class Http2ServerConfigTest {
+
+    @Test
+    @DisplayName("Should apply the stream limits to the HTTP/2 upgrade protocol")
+    public void testStreamLimits() {
+        Http2ServerProperties properties = new Http2ServerProperties();
+        properties.setMaxConcurrentStreams(500);
+        properties.setMaxConcurrentStreamExecution(50);
+        Connector connector = new Connector();
+        Http2Protocol http2 = new Http2Protocol();
+        connector.addUpgradeProtocol(http2);
+
+        new Http2ServerConfig(properties).http2StreamLimits().customize(connector);
+
+        assertEquals(500, http2.getMaxConcurrentStreams());
+        assertEquals(50, http2.getMaxConcurrentStreamExecution());
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.innovationforge.sra.unit.confIg;
+
+import com.github.innovationforge.sra.config.HttpClientProperties;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for HttpClientProperties")
+public class HttpClientPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    @DisplayName("Should bind tuning properties")
+    public void testBindsProperties() {
+        contextRunner
+                .withPropertyValues(
+                        "http.connection.maxConnTotal=50",
+                        "http.connection.maxConnPerRoute=50",
+                        "http.connection.responseTimeout=3s",
+                        "http.connection.poolConcurrencyPolicy=LAX",
+                        "http.connection.version=HTTP_2",
+                        "http.connection.http2Connections=4")
+                .run(context -> {
+                    HttpClientProperties properties = context.getBean(HttpClientProperties.class);
+                    assertThat(properties.getMaxConnTotal()).isEqualTo(50);
+                    assertThat(properties.getResponseTimeout()).isEqualTo(Duration.ofSeconds(3));
+                    assertThat(properties.getPoolConcurrencyPolicy()).isEqualTo(PoolConcurrencyPolicy.LAX);
+                    assertThat(properties.getVersion()).isEqualTo(HttpClient.Version.HTTP_2);
+                    assertThat(properties.getHttp2Connections()).isEqualTo(4);
+                });
+    }
+
+    @Test
+    @DisplayName("Should fail startup on an unknown key")
+    public void testRejectsUnknownKey() {
+        contextRunner
+                .withPropertyValues("http.connection.maxTotal=100")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    @DisplayName("Should fail startup when the per-route limit exceeds the total")
+    public void testRejectsPerRouteAboveTotal() {
+        contextRunner
+                .withPropertyValues("http.connection.maxConnTotal=10", "http.connection.maxConnPerRoute=20")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @EnableConfigurationProperties(HttpClientProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -2,23 +2,40 @@ package com.github.innovationforge.sra.unit.confIg;
 
 import com.github.innovationforge.sra.config.HttpClientProperties;
 import com.github.innovationforge.sra.config.RestClientConfig;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests for RestClientConfig")
 public class RestClientConfigTest {
 
-    @Mock
-    private HttpClientProperties httpClientProperties;
+    @Spy
+    private HttpClientProperties httpClientProperties = new HttpClientProperties();
 
     @InjectMocks
     private RestClientConfig restClientConfig;
@@ -29,8 +46,109 @@ public class RestClientConfigTest {
         when(httpClientProperties.getMaxConnTotal()).thenReturn(100);
         when(httpClientProperties.getMaxConnPerRoute()).thenReturn(20);
 
-        RestClient restClient = restClientConfig.restClient();
+        RestClient restClient = restClientConfig.restClient(new SimpleMeterRegistry());
 
         assertNotNull(restClient);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should publish connection pool gauges")
+    public void testConnectionPoolMetrics() {
+        when(httpClientProperties.getMaxConnTotal()).thenReturn(100);
+        when(httpClientProperties.getMaxConnPerRoute()).thenReturn(20);
+
+        PoolingHttpClientConnectionManager connectionManager = restClientConfig.connectionManager();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        restClientConfig.connectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(100, registry.get("backend.pool.connections").tag("state", "max").gauge().value());
+        assertEquals(0, registry.get("backend.pool.connections").tag("state", "leased").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should decode compressed backend responses and record wire and decoded sizes")
+    public void testCompressedResponse() {
+        WireMockServer backend = new WireMockServer(options().dynamicPort());
+        backend.start();
+        try {
+            String body = "[" + "{\"id\":1,\"title\":\"Book1\"},".repeat(200) + "{}]";
+            backend.stubFor(get("/api/books").willReturn(okJson(body)));
+            MeterRegistry registry = new SimpleMeterRegistry();
+
+            String received = restClientConfig.restClient(registry)
+                    .get()
+                    .uri(backend.baseUrl() + "/api/books")
+                    .retrieve()
+                    .body(String.class);
+
+            assertEquals(body, received);
+            assertEquals(body.length(), registry.get("backend.response.decoded.size").tag("encoding", "gzip").summary().totalAmount());
+            assertTrue(registry.get("backend.response.wire.size").tag("encoding", "gzip").summary().totalAmount() < body.length());
+            assertEquals(1, registry.get("backend.response.decode").tag("encoding", "gzip").timer().count());
+        } finally {
+            backend.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send backend requests over HTTP/2 when configured")
+    public void testHttp2() {
+        when(httpClientProperties.getVersion()).thenReturn(HttpClient.Version.HTTP_2);
+        WireMockServer backend = new WireMockServer(options().dynamicPort());
+        backend.start();
+        try {
+            backend.stubFor(get("/api/books/1").willReturn(okJson("{\"id\":1,\"title\":\"Book1\"}")));
+            RestClient restClient = restClientConfig.restClient(new SimpleMeterRegistry());
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals("{\"id\":1,\"title\":\"Book1\"}", restClient.get()
+                        .uri(backend.baseUrl() + "/api/books/1")
+                        .retrieve()
+                        .body(String.class));
+            }
+
+            assertEquals("HTTP/2.0", backend.getAllServeEvents().get(0).getRequest().getProtocol());
+        } finally {
+            backend.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should only create the connection pool and its gauges for HTTP/1.1")
+    public void testConnectionPoolOnlyForHttp11() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(ClientConfig.class, RestClientConfig.class);
+
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(PoolingHttpClientConnectionManager.class);
+            assertThat(context).hasBean("connectionPoolMetrics");
+        });
+        contextRunner.withPropertyValues("http.connection.version=http_2").run(context -> {
+            assertThat(context).hasSingleBean(RestClient.class);
+            assertThat(context).doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+            assertThat(context).doesNotHaveBean("connectionPoolMetrics");
+        });
+    }
+
+    @Test
+    @DisplayName("Should release the JDK clients' executors on shutdown")
+    public void testDestroyReleasesJdkClients() throws Exception {
+        when(httpClientProperties.getVersion()).thenReturn(HttpClient.Version.HTTP_2);
+        restClientConfig.restClient(new SimpleMeterRegistry());
+        HttpClient asyncHttpClient = restClientConfig.asyncHttpClient(new MockEnvironment());
+
+        restClientConfig.destroy();
+
+        ExecutorService executor = (ExecutorService) asyncHttpClient.executor().orElseThrow();
+        assertTrue(executor.isShutdown());
+    }
+
+    @EnableConfigurationProperties(HttpClientProperties.class)
+    static class ClientConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
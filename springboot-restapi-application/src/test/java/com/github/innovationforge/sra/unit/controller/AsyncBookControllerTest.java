@@ -0,0 +1,85 @@
+package com.github.innovationforge.sra.unit.controller;
+
+import com.github.innovationforge.sra.controller.AsyncBookControllerImpl;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.WriteRejectedException;
+import com.github.innovationforge.sra.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Async Book Controller Tests")
+public class AsyncBookControllerTest {
+
+    @InjectMocks
+    private AsyncBookControllerImpl bookController;
+
+    @Mock
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Test getting all books asynchronously")
+    public void testGetAllBooks() {
+        List<Book> expectedBooks = Arrays.asList(createBook(1L, "Book 1"), createBook(2L, "Book 2"));
+
+        when(bookService.getAllBooksAsync()).thenReturn(CompletableFuture.completedFuture(expectedBooks));
+
+        List<Book> actualBooks = bookController.getAllBooks().join().getBody();
+
+        assertEquals(expectedBooks, actualBooks);
+    }
+
+    @Test
+    @DisplayName("Test getting a single book asynchronously")
+    public void testGetBook() {
+        Book expectedBook = createBook(1L, "Book 1");
+
+        when(bookService.getBookAsync(1L)).thenReturn(CompletableFuture.completedFuture(expectedBook));
+
+        Book actualBook = bookController.getBook(1L).join().getBody();
+
+        assertEquals(expectedBook, actualBook);
+    }
+
+    @Test
+    @DisplayName("Test creating a book asynchronously")
+    public void testCreateBook() {
+        Book newBook = createBook(null, "New Book");
+        Book savedBook = createBook(1L, "New Book");
+
+        when(bookService.createBookAsync(newBook)).thenReturn(CompletableFuture.completedFuture(savedBook));
+
+        ResponseEntity<Book> response = bookController.createBook(newBook).join();
+
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals(savedBook, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Test a rejected write fails the response future")
+    public void testCreateBookRejected() {
+        Book newBook = createBook(null, "New Book");
+
+        when(bookService.createBookAsync(newBook))
+                .thenReturn(CompletableFuture.failedFuture(new WriteRejectedException("Write queue is full")));
+
+        CompletionException e = assertThrows(CompletionException.class, () -> bookController.createBook(newBook).join());
+        assertInstanceOf(WriteRejectedException.class, e.getCause());
+    }
+}
@@ -54,6 +54,22 @@ public class BookControllerTest {
         assertEquals(expectedBook, actualBook);
     }
 
+    @Test
+    @DisplayName("Test getting several books by id")
+    public void testGetBooks() {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        List<Long> ids = Arrays.asList(1L, 2L);
+        List<Book> expectedBooks = Arrays.asList(book1, book2);
+
+        when(bookService.getBooks(ids)).thenReturn(expectedBooks);
+
+        List<Book> actualBooks = bookController.getBooks(ids).getBody();
+
+        assertEquals(expectedBooks, actualBooks);
+    }
+
     @Test
     @DisplayName("Test creating a book")
     public void testCreateBook() {
@@ -0,0 +1,48 @@
+package com.github.innovationforge.sra.unit.controller;
+
+import com.github.innovationforge.sra.controller.BookETags;
+import com.github.innovationforge.sra.model.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Book ETag Tests")
+public class BookETagsTest {
+
+    @Test
+    @DisplayName("Test equal books get the same weak ETag")
+    public void testSameContentSameETag() {
+        String eTag = BookETags.of(createBook(1L, "Book 1"));
+
+        assertEquals(eTag, BookETags.of(createBook(1L, "Book 1")));
+        assertTrue(eTag.startsWith("W/\"") && eTag.endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Test any field change produces a different ETag")
+    public void testChangedContentChangesETag() {
+        Book book = createBook(1L, "Book 1");
+        Book changed = createBook(1L, "Book 1");
+        changed.setAuthor("Author 1");
+
+        assertNotEquals(BookETags.of(book), BookETags.of(changed));
+        assertNotEquals(BookETags.of(book), BookETags.of(createBook(2L, "Book 1")));
+    }
+
+    @Test
+    @DisplayName("Test list ETags depend on order and content")
+    public void testListETag() {
+        List<Book> books = Arrays.asList(createBook(1L, "Book 1"), createBook(2L, "Book 2"));
+        List<Book> reversed = Arrays.asList(createBook(2L, "Book 2"), createBook(1L, "Book 1"));
+
+        assertEquals(BookETags.of(books), BookETags.of(Arrays.asList(createBook(1L, "Book 1"), createBook(2L, "Book 2"))));
+        assertNotEquals(BookETags.of(books), BookETags.of(reversed));
+    }
+}
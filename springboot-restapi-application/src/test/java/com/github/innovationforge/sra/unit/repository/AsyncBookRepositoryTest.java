@@ -0,0 +1,184 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.innovationforge.sra.config.ApiProperties;
+import com.github.innovationforge.sra.config.HttpClientProperties;
+import com.github.innovationforge.sra.config.WireFormats;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.AsyncBookRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Async Book Repository Tests")
+public class AsyncBookRepositoryTest {
+
+    private static final String URL = "http://localhost:8181/api/books";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private HttpClient httpClient;
+
+    @Mock
+    private HttpResponse<byte[]> httpResponse;
+
+    private final HttpClientProperties httpClientProperties = new HttpClientProperties();
+
+    private ApiProperties apiProperties;
+
+    private AsyncBookRepositoryImpl bookRepository;
+
+    @BeforeEach
+    public void setUp() {
+        apiProperties = new ApiProperties();
+        apiProperties.setUrl(URL);
+        bookRepository = new AsyncBookRepositoryImpl(apiProperties, httpClientProperties, httpClient, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Test getting all books asynchronously")
+    public void testFindAll() throws Exception {
+        List<Book> expectedBooks = Arrays.asList(createBook(1L, "Book 1"), createBook(2L, "Book 2"));
+
+        respondWith(200, objectMapper.writeValueAsBytes(expectedBooks));
+
+        assertEquals(expectedBooks, bookRepository.findAll().join());
+    }
+
+    @Test
+    @DisplayName("Test getting a book by id asynchronously")
+    public void testFindById() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+
+        respondWith(200, objectMapper.writeValueAsBytes(book1));
+
+        assertEquals(book1, bookRepository.findById(1L).join());
+
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any());
+        assertEquals(URL + "/1", request.getValue().uri().toString());
+        assertEquals("GET", request.getValue().method());
+        assertEquals(httpClientProperties.getResponseTimeout(), request.getValue().timeout().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Test requests use the configured response timeout and media type")
+    public void testResponseTimeoutAndMediaType() throws Exception {
+        httpClientProperties.setResponseTimeout(Duration.ofMillis(250));
+        apiProperties.setMediaType(WireFormats.APPLICATION_SMILE);
+        bookRepository = new AsyncBookRepositoryImpl(apiProperties, httpClientProperties, httpClient, objectMapper);
+        Book book1 = createBook(1L, "Book 1");
+
+        respondWith(200, WireFormats.objectMapper(objectMapper, WireFormats.APPLICATION_SMILE).writeValueAsBytes(book1));
+
+        assertEquals(book1, bookRepository.findById(1L).join());
+
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any());
+        assertEquals(Duration.ofMillis(250), request.getValue().timeout().orElseThrow());
+        assertEquals(WireFormats.APPLICATION_SMILE.toString(), request.getValue().headers().firstValue("Accept").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Test a missing book fails the future with a client error")
+    public void testFindByIdNotFound() {
+        respondWith(404, new byte[0]);
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> bookRepository.findById(1L).join());
+        assertInstanceOf(HttpClientErrorException.NotFound.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Test saving a book asynchronously")
+    public void testSave() throws Exception {
+        Book savedBook = createBook(1L, "New Book");
+
+        respondWith(201, objectMapper.writeValueAsBytes(savedBook));
+
+        assertEquals(savedBook, bookRepository.save(createBook(null, "New Book")).join());
+    }
+
+    @Test
+    @DisplayName("Test saves send JSON even when responses use a binary media type")
+    public void testSaveSendsJsonWithBinaryMediaType() throws Exception {
+        apiProperties.setMediaType(WireFormats.APPLICATION_CBOR);
+        bookRepository = new AsyncBookRepositoryImpl(apiProperties, httpClientProperties, httpClient, objectMapper);
+        Book newBook = createBook(null, "New Book");
+        Book savedBook = createBook(1L, "New Book");
+
+        respondWith(201, WireFormats.objectMapper(objectMapper, WireFormats.APPLICATION_CBOR).writeValueAsBytes(savedBook));
+
+        assertEquals(savedBook, bookRepository.save(newBook).join());
+
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any());
+        assertEquals("application/json", request.getValue().headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(WireFormats.APPLICATION_CBOR.toString(), request.getValue().headers().firstValue("Accept").orElseThrow());
+        assertEquals(newBook, objectMapper.readValue(body(request.getValue()), Book.class));
+    }
+
+    @Test
+    @DisplayName("Test deleting a book asynchronously")
+    public void testDeleteById() {
+        respondWith(204, new byte[0]);
+
+        assertNull(bookRepository.deleteById(1L).join());
+    }
+
+    private static byte[] body(HttpRequest request) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        request.bodyPublisher().orElseThrow().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                body.writeBytes(bytes);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        return body.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respondWith(int status, byte[] body) {
+        when(httpResponse.statusCode()).thenReturn(status);
+        when(httpResponse.body()).thenReturn(body);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+    }
+}
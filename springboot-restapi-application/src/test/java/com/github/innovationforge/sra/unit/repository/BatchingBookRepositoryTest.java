@@ -0,0 +1,103 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.config.BookBatchProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BatchingBookRepository;
+import com.github.innovationforge.sra.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Batching Book Repository Tests")
+public class BatchingBookRepositoryTest {
+
+    @Mock
+    private BookRepository delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private BatchingBookRepository bookRepository;
+
+    @BeforeEach
+    public void setUp() {
+        BookBatchProperties properties = new BookBatchProperties();
+        properties.setWindow(Duration.ofMillis(20));
+        properties.setMaxBatchSize(3);
+        properties.setParallelism(2);
+        meterRegistry = new SimpleMeterRegistry();
+        bookRepository = new BatchingBookRepository(delegate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookRepository.close();
+    }
+
+    @Test
+    @DisplayName("Test a single lookup goes straight to the backend without waiting for a batch")
+    public void testFindById() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(delegate.findById(1L)).thenReturn(book1);
+
+        assertEquals(book1, bookRepository.findById(1L));
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(0, meterRegistry.get("backend.batch.size").summary().count());
+    }
+
+    @Test
+    @DisplayName("Test batch lookups are split by max batch size and keep request order")
+    public void testFindAllById() {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+        Book book4 = createBook(4L, "Book 4");
+
+        when(delegate.findById(1L)).thenReturn(book1);
+        when(delegate.findById(2L)).thenReturn(book2);
+        when(delegate.findById(3L)).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(delegate.findById(4L)).thenReturn(book4);
+
+        List<Book> actualBooks = bookRepository.findAllById(Arrays.asList(2L, 1L, 3L, 4L, 2L));
+
+        assertEquals(Arrays.asList(book2, book1, book4), actualBooks);
+        verify(delegate, times(1)).findById(2L);
+        assertEquals(2, meterRegistry.get("backend.batch.size").summary().count());
+        assertEquals(4, meterRegistry.get("backend.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Test an error from the backend fails the batch lookup instead of leaving it waiting")
+    public void testFindAllByIdPropagatesError() {
+        when(delegate.findById(1L)).thenThrow(new StackOverflowError());
+
+        assertThrows(StackOverflowError.class, () -> bookRepository.findAllById(List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("Test batch lookups after close fail instead of hanging")
+    public void testFindAllByIdAfterClose() {
+        bookRepository.close();
+
+        assertThrows(RejectedExecutionException.class, () -> bookRepository.findAllById(List.of(1L, 2L)));
+        verify(delegate, never()).findById(anyLong());
+    }
+}
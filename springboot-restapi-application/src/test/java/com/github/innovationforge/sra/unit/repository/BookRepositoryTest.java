@@ -1,22 +1,37 @@
 package com.github.innovationforge.sra.unit.repository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.innovationforge.sra.config.ApiProperties;
+import com.github.innovationforge.sra.config.WireFormats;
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
 import com.github.innovationforge.sra.repository.BookRepositoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static com.github.innovationforge.sra.unit.TestUtil.createBook;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,8 +41,8 @@ public class BookRepositoryTest {
     @InjectMocks
     private BookRepositoryImpl bookRepository;
 
-    @Mock
-    private ApiProperties apiProperties;
+    @Spy
+    private ApiProperties apiProperties = new ApiProperties();
 
     @Mock
     private RestClient restClient;
@@ -44,6 +59,15 @@ public class BookRepositoryTest {
     @Mock
     private RestClient.RequestBodyUriSpec requestBodyUriSpec;
 
+    @Mock
+    private RestClient.RequestHeadersSpec.ConvertibleClientHttpResponse clientHttpResponse;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     @DisplayName("Test getting all books")
     public void testGetAllBooks() {
@@ -54,6 +78,7 @@ public class BookRepositoryTest {
 
         when(restClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(apiProperties.getUrl())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.toEntity(Book[].class)).thenReturn(ResponseEntity.ok(expectedBooks.toArray(new Book[0])));
 
@@ -67,6 +92,96 @@ public class BookRepositoryTest {
         verify(responseSpec, times(1)).toEntity(Book[].class);
     }
 
+    @Test
+    @DisplayName("Test an unchanged book is revalidated with a conditional GET")
+    public void testFindByIdRevalidates() {
+        Book book1 = createBook(1L, "Book 1");
+        ApiProperties properties = new ApiProperties();
+        properties.setUrl("http://localhost:8181/api/books");
+        BookRepositoryImpl revalidatingRepository = new BookRepositoryImpl(properties, restClient, objectMapper, meterRegistry);
+
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri("http://localhost:8181/api/books/1")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.ifNoneMatch("\"v1\"")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(Book.class))
+                .thenReturn(ResponseEntity.ok().eTag("\"v1\"").body(book1))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        assertEquals(book1, revalidatingRepository.findById(1L));
+        assertEquals(book1, revalidatingRepository.findById(1L));
+
+        verify(requestHeadersSpec, times(1)).ifNoneMatch("\"v1\"");
+        verify(responseSpec, times(2)).toEntity(Book.class);
+    }
+
+    @Test
+    @DisplayName("Test streaming all books")
+    public void testStreamAll() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        List<Book> expectedBooks = Arrays.asList(book1, book2);
+
+        stubBackendListing(expectedBooks);
+
+        List<Book> actualBooks = new ArrayList<>();
+        bookRepository.streamAll(actualBooks::add);
+
+        assertEquals(expectedBooks, actualBooks);
+    }
+
+    @Test
+    @DisplayName("Test paging in-process when the backend cannot page")
+    public void testFindPageInProcess() throws Exception {
+        List<Book> catalog = Arrays.asList(
+                createBook(5L, "Book 5"), createBook(1L, "Book 1"), createBook(4L, "Book 4"),
+                createBook(2L, "Book 2"), createBook(3L, "Book 3"));
+
+        stubBackendListing(catalog);
+
+        BookPage page = bookRepository.findPage(new BookPageRequest(null, 2, 1L, null));
+
+        assertEquals(Arrays.asList(createBook(2L, "Book 2"), createBook(3L, "Book 3")), page.getContent());
+        assertEquals(true, page.isHasNext());
+    }
+
+    @Test
+    @DisplayName("Test paging by page number in-process on the last page")
+    public void testFindPageInProcessLastPage() throws Exception {
+        List<Book> catalog = Arrays.asList(
+                createBook(3L, "Book 3"), createBook(1L, "Book 1"), createBook(2L, "Book 2"));
+
+        stubBackendListing(catalog);
+
+        BookPage page = bookRepository.findPage(new BookPageRequest(1, 2, null, null));
+
+        assertEquals(List.of(createBook(3L, "Book 3")), page.getContent());
+        assertEquals(false, page.isHasNext());
+    }
+
+    @Test
+    @DisplayName("Test paging is pushed down to a backend that supports it")
+    public void testFindPagePushedDown() {
+        Book book3 = createBook(3L, "Book 3");
+        Book book4 = createBook(4L, "Book 4");
+        URI expectedUri = URI.create("http://localhost:8181/api/books?limit=2&after=2&fields=title");
+
+        when(apiProperties.getUrl()).thenReturn("http://localhost:8181/api/books");
+        when(apiProperties.isPaginationSupported()).thenReturn(true);
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(expectedUri)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(Book[].class)).thenReturn(ResponseEntity.ok(new Book[]{book3, book4}));
+
+        BookPage page = bookRepository.findPage(new BookPageRequest(null, 1, 2L, List.of("title")));
+
+        assertEquals(List.of(book3), page.getContent());
+        assertEquals(true, page.isHasNext());
+    }
+
     @Test
     @DisplayName("Test getting a book by id")
     public void testFindById() {
@@ -74,6 +189,7 @@ public class BookRepositoryTest {
 
         when(restClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(apiProperties.getUrl() + "/" + book1.getId())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.toEntity(Book.class)).thenReturn(ResponseEntity.ok(book1));
 
@@ -87,7 +203,25 @@ public class BookRepositoryTest {
         verify(responseSpec, times(1)).toEntity(Book.class);
     }
 
+    @Test
+    @DisplayName("Test getting several books by id skips missing ones")
+    public void testFindAllById() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(Book.class))
+                .thenReturn(ResponseEntity.ok(book1))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        List<Book> actualBooks = bookRepository.findAllById(Arrays.asList(1L, 2L, 1L));
 
+        assertEquals(List.of(book1), actualBooks);
+
+        verify(restClient, times(2)).get();
+    }
 
     @Test
     @DisplayName("Test saving a book")
@@ -111,6 +245,44 @@ public class BookRepositoryTest {
         verify(responseSpec, times(1)).toEntity(Book.class);
     }
 
+    @Test
+    @DisplayName("Test streaming all books from a backend answering in Smile")
+    @SuppressWarnings("unchecked")
+    public void testStreamAllSmile() throws Exception {
+        List<Book> expectedBooks = Arrays.asList(createBook(1L, "Book 1"), createBook(2L, "Book 2"));
+        ApiProperties properties = new ApiProperties();
+        properties.setUrl("http://localhost:8181/api/books");
+        properties.setMediaType(WireFormats.APPLICATION_SMILE);
+        BookRepositoryImpl smileRepository = new BookRepositoryImpl(properties, restClient, objectMapper, meterRegistry);
+        byte[] body = WireFormats.objectMapper(new ObjectMapper(), WireFormats.APPLICATION_SMILE).writeValueAsBytes(expectedBooks);
+
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri("http://localhost:8181/api/books")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(WireFormats.APPLICATION_SMILE)).thenReturn(requestHeadersSpec);
+        when(clientHttpResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(clientHttpResponse.getBody()).thenReturn(new ByteArrayInputStream(body));
+        when(requestHeadersSpec.exchange(any(RestClient.RequestHeadersSpec.ExchangeFunction.class))).thenAnswer(invocation ->
+                invocation.<RestClient.RequestHeadersSpec.ExchangeFunction<?>>getArgument(0).exchange(null, clientHttpResponse));
+
+        List<Book> actualBooks = new ArrayList<>();
+        smileRepository.streamAll(actualBooks::add);
+
+        assertEquals(expectedBooks, actualBooks);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubBackendListing(List<Book> books) throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(books);
+
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(apiProperties.getUrl())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
+        when(clientHttpResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(clientHttpResponse.getBody()).thenReturn(new ByteArrayInputStream(body));
+        when(requestHeadersSpec.exchange(any(RestClient.RequestHeadersSpec.ExchangeFunction.class))).thenAnswer(invocation ->
+                invocation.<RestClient.RequestHeadersSpec.ExchangeFunction<?>>getArgument(0).exchange(null, clientHttpResponse));
+    }
+
     @Test
     @DisplayName("Test deleting a book by id")
     public void testDeleteById() {
@@ -119,11 +291,36 @@ public class BookRepositoryTest {
         when(restClient.delete()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(apiProperties.getUrl() + "/" + id)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec); // Mock retrieve() to return responseSpec
+        when(responseSpec.toBodilessEntity()).thenReturn(ResponseEntity.noContent().build());
 
         bookRepository.deleteById(id);
 
         verify(restClient, times(1)).delete();
         verify(requestHeadersUriSpec, times(1)).uri(apiProperties.getUrl() + "/" + id);
         verify(requestHeadersSpec, times(1)).retrieve();
+        verify(responseSpec, times(1)).toBodilessEntity();
+    }
+
+    @Test
+    @DisplayName("Test backend calls are timed per method and status")
+    public void testBackendCallsAreTimed() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(Book.class))
+                .thenReturn(ResponseEntity.ok(book1))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        bookRepository.findById(1L);
+        assertThrows(HttpClientErrorException.NotFound.class, () -> bookRepository.findById(2L));
+        assertThrows(ResourceAccessException.class, () -> bookRepository.findById(3L));
+
+        assertEquals(1, meterRegistry.get("backend.requests").tag("method", "findById").tag("status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("backend.requests").tag("method", "findById").tag("status", "404").timer().count());
+        assertEquals(1, meterRegistry.get("backend.requests").tag("method", "findById").tag("status", "IO_ERROR").timer().count());
     }
 }
\ No newline at end of file
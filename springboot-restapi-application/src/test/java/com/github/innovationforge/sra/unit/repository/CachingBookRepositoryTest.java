@@ -0,0 +1,99 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.config.BookCacheProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.repository.CachingBookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching Book Repository Tests")
+public class CachingBookRepositoryTest {
+
+    @Mock
+    private BookRepository delegate;
+
+    private CachingBookRepository bookRepository;
+
+    @BeforeEach
+    public void setUp() {
+        BookCacheProperties properties = new BookCacheProperties();
+        properties.setMaximumSize(100);
+        bookRepository = new CachingBookRepository(delegate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test repeated lookups are served from the cache")
+    public void testFindByIdIsCached() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(delegate.findById(1L)).thenReturn(book1);
+
+        assertEquals(book1, bookRepository.findById(1L));
+        assertEquals(book1, bookRepository.findById(1L));
+
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1, bookRepository.stats().hitCount());
+        assertEquals(1, bookRepository.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Test batch lookups only load ids missing from the cache")
+    public void testFindAllById() {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        when(delegate.findById(1L)).thenReturn(book1);
+        when(delegate.findAllById(List.of(2L))).thenReturn(List.of(book2));
+
+        bookRepository.findById(1L);
+        List<Book> actualBooks = bookRepository.findAllById(Arrays.asList(2L, 1L));
+
+        assertEquals(Arrays.asList(book2, book1), actualBooks);
+        verify(delegate, times(1)).findAllById(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Test saving a book invalidates its cache entry")
+    public void testSaveInvalidates() {
+        Book book1 = createBook(1L, "Book 1");
+        Book updatedBook = createBook(1L, "Updated Book");
+
+        when(delegate.findById(1L)).thenReturn(book1, updatedBook);
+        when(delegate.save(updatedBook)).thenReturn(updatedBook);
+
+        bookRepository.findById(1L);
+        bookRepository.save(updatedBook);
+
+        assertEquals(updatedBook, bookRepository.findById(1L));
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Test deleting a book invalidates its cache entry")
+    public void testDeleteByIdInvalidates() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(delegate.findById(1L)).thenReturn(book1);
+
+        bookRepository.findById(1L);
+        bookRepository.deleteById(1L);
+        bookRepository.findById(1L);
+
+        verify(delegate, times(1)).deleteById(1L);
+        verify(delegate, times(2)).findById(1L);
+    }
+}
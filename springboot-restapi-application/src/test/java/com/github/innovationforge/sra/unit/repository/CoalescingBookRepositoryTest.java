@@ -0,0 +1,143 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.repository.CoalescingBookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Coalescing Book Repository Tests")
+public class CoalescingBookRepositoryTest {
+
+    @Mock
+    private BookRepository delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private CoalescingBookRepository bookRepository;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookRepository = new CoalescingBookRepository(delegate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test concurrent lookups for the same id share one backend call")
+    public void testConcurrentFindByIdIsCoalesced() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return book1;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Book>> results = new ArrayList<>();
+            results.add(executor.submit(() -> bookRepository.findById(1L)));
+            started.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> bookRepository.findById(1L)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (collapsed() < 7 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<Book> result : results) {
+                assertSame(book1, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(7, collapsed());
+    }
+
+    @Test
+    @DisplayName("Test sequential lookups each reach the backend")
+    public void testSequentialFindByIdIsNotCoalesced() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(delegate.findById(1L)).thenReturn(book1);
+
+        bookRepository.findById(1L);
+        bookRepository.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+        assertEquals(0, collapsed());
+    }
+
+    @Test
+    @DisplayName("Test backend failures are rethrown to the caller")
+    public void testFindByIdPropagatesFailure() {
+        when(delegate.findById(1L)).thenThrow(new IllegalStateException("backend down"));
+
+        assertThrows(IllegalStateException.class, () -> bookRepository.findById(1L));
+    }
+
+    @Test
+    @DisplayName("Test an error from the backend call is passed on to the callers waiting on it")
+    public void testFindByIdPropagatesErrorToFollowers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new StackOverflowError();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Book> leader = executor.submit(() -> bookRepository.findById(1L));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Book> follower = executor.submit(() -> bookRepository.findById(1L));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (collapsed() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, leaderFailure.getCause());
+            assertInstanceOf(StackOverflowError.class, followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double collapsed() {
+        return meterRegistry.get("backend.coalescing.calls").tag("result", "collapsed").counter().count();
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.CompactBookCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Compact Book Catalog Tests")
+public class CompactBookCatalogTest {
+
+    private final CompactBookCatalog catalog = new CompactBookCatalog();
+
+    @Test
+    @DisplayName("Test books read back exactly as written, whatever their ISBN, author and title look like")
+    public void testRoundTrip() {
+        List<Book> books = List.of(
+                new Book(1L, "Title 1", "Author 1", "978-0-306-40615-7"),
+                new Book(2L, "Bücher für alle 📚", "Author 1", "9780306406157"),
+                new Book(3L, "", "Ödön von Horváth", "0-8044-2957-X"),
+                new Book(4L, null, null, null),
+                new Book(5L, "Title 5", "", "080442957X"),
+                new Book(6L, "Title 6", "Author 6", "ISBN 6"),
+                new Book(7L, "Title 7", "Author 7", "-978-0306406157"),
+                new Book(8L, "Title 8", "Author 8", "0012345678901"),
+                new Book(9L, "Title 9", "Author 9", "978--0306406157"),
+                new Book(10L, "Title 10", "Author 10", "12345"),
+                new Book(-11L, "Title -11", "Author 11", "0-8044-2957-X-"));
+        books.forEach(catalog::put);
+
+        for (Book book : books) {
+            assertEquals(book, catalog.get(book.getId()));
+        }
+        assertNull(catalog.get(12L));
+        assertEquals(books.size(), catalog.size());
+    }
+
+    @Test
+    @DisplayName("Test updates and removals are reflected, and overwritten titles are reclaimed")
+    public void testUpdateAndRemove() {
+        for (int round = 0; round < 2_000; round++) {
+            catalog.put(createBook(1L, "A fairly long title, rewritten on every round " + round));
+            catalog.put(new Book(2L, "Title " + round, "Author", round % 2 == 0 ? "ISBN " + round : "978-0-306-40615-7"));
+        }
+        catalog.remove(2L);
+        catalog.remove(3L);
+
+        assertEquals(createBook(1L, "A fairly long title, rewritten on every round 1999"), catalog.get(1L));
+        assertNull(catalog.get(2L));
+        assertEquals(1, catalog.size());
+        assertTrue(catalog.estimatedBytes() < new CompactBookCatalog().estimatedBytes() + 1_000);
+    }
+
+    @Test
+    @DisplayName("Test books are visited and paged in id order")
+    public void testOrdering() {
+        LongStream.of(5, 3, 9, 1, 7).forEach(id -> catalog.put(createBook(id, "Book " + id)));
+        catalog.remove(9L);
+        catalog.put(createBook(4L, "Book 4"));
+
+        List<Long> ids = new ArrayList<>();
+        catalog.forEach(book -> ids.add(book.getId()));
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 7L), ids);
+        assertEquals(List.of(createBook(3L, "Book 3"), createBook(4L, "Book 4")), catalog.page(null, 1, 2));
+        assertEquals(List.of(createBook(5L, "Book 5"), createBook(7L, "Book 7")), catalog.page(4L, 0, 10));
+        assertEquals(List.of(createBook(7L, "Book 7")), catalog.page(6L, 0, 10));
+        assertEquals(List.of(), catalog.page(7L, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Test a large catalog grows, retains a subset and reuses the freed slots")
+    public void testGrowAndRetain() {
+        int size = 50_000;
+        for (long id = 1; id <= size; id++) {
+            catalog.put(new Book(id, "Title " + id, "Author " + id % 100, String.format("978-%010d", id)));
+        }
+        catalog.retain(id -> id % 2 == 0);
+        for (long id = size + 1; id <= size + 100; id++) {
+            catalog.put(createBook(id, "Title " + id));
+        }
+
+        assertEquals(size / 2 + 100, catalog.size());
+        assertNull(catalog.get(1L));
+        assertEquals(new Book(2L, "Title 2", "Author 2", "978-0000000002"), catalog.get(2L));
+        assertEquals(createBook(size + 100L, "Title " + (size + 100)), catalog.get(size + 100L));
+        List<Book> page = catalog.page((long) size - 2, 0, 3);
+        assertEquals(List.of((long) size, size + 1L, size + 2L), page.stream().map(Book::getId).toList());
+    }
+}
@@ -0,0 +1,212 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.config.BookReplicaProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookChanges;
+import com.github.innovationforge.sra.model.BookPage;
+import com.github.innovationforge.sra.model.BookPageRequest;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.repository.BookSnapshot;
+import com.github.innovationforge.sra.repository.ReplicatedBookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Replicated Book Repository Tests")
+public class ReplicatedBookRepositoryTest {
+
+    @Mock
+    private BookRepository delegate;
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    private BookReplicaProperties properties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new BookReplicaProperties();
+        // Syncs are driven by the tests
+        properties.setInitialSyncDelay(Duration.ofHours(1));
+        properties.setSyncInterval(Duration.ofHours(1));
+        properties.setSnapshotPath(snapshotDirectory.resolve("books.snapshot"));
+        properties.setSnapshotInterval(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Test reads are answered from the replica and kept current by delta syncs")
+    public void testDeltaSync() {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+        Book book3 = createBook(3L, "Book 3");
+        lenient().when(delegate.findChanges(-1)).thenReturn(new BookChanges(5, true, List.of(book1, book2), List.of()));
+        lenient().when(delegate.findChanges(5)).thenReturn(new BookChanges(7, false, List.of(book3), List.of(1L)));
+        lenient().when(delegate.findChanges(7)).thenReturn(new BookChanges(7, false, List.of(), List.of()));
+
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry)) {
+            bookRepository.sync();
+            bookRepository.sync();
+
+            assertEquals(7, bookRepository.getVersion());
+            assertEquals(List.of(book2, book3), bookRepository.findAll());
+            assertEquals(book2, bookRepository.findById(2L));
+            assertEquals(List.of(book3), bookRepository.findAllById(List.of(3L)));
+            verify(delegate, never()).findAll();
+            verify(delegate, never()).findById(anyLong());
+            assertTrue(meterRegistry.get("backend.replica.staleness").timeGauge().value(TimeUnit.SECONDS) < 60);
+            assertEquals(2, meterRegistry.get("backend.replica.size").gauge().value());
+        }
+    }
+
+    @Test
+    @DisplayName("Test writes are visible in the replica straight away")
+    public void testReadOwnWrites() {
+        Book newBook = createBook(null, "New Book");
+        Book savedBook = createBook(3L, "New Book");
+        when(delegate.findChanges(anyLong())).thenReturn(new BookChanges(1, true, List.of(createBook(1L, "Book 1")), List.of()));
+        when(delegate.save(newBook)).thenReturn(savedBook);
+
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry)) {
+            bookRepository.sync();
+            bookRepository.save(newBook);
+            bookRepository.deleteById(1L);
+
+            assertEquals(List.of(savedBook), bookRepository.findAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a restarted replica answers from its snapshot while the backend is down")
+    public void testSnapshot() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = new Book(2L, "Bücher für alle", null, "ISBN 2");
+        lenient().when(delegate.findChanges(anyLong())).thenReturn(new BookChanges(9, true, List.of(book1, book2), List.of()));
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry)) {
+            bookRepository.sync();
+        }
+        assertEquals(List.of(book1, book2), BookSnapshot.read(properties.getSnapshotPath()).books());
+
+        reset(delegate);
+        lenient().when(delegate.findChanges(anyLong())).thenThrow(new ResourceAccessException("Connection refused"));
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, new SimpleMeterRegistry())) {
+            assertTrue(bookRepository.isLoaded());
+            assertEquals(9, bookRepository.getVersion());
+            assertEquals(book2, bookRepository.findById(2L));
+            verify(delegate, never()).findById(anyLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Test closing lets a running sync finish and write its snapshot")
+    public void testCloseDuringSync() throws Exception {
+        properties.setInitialSyncDelay(Duration.ZERO);
+        Book book1 = createBook(1L, "Book 1");
+        CountDownLatch syncing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findChanges(-1)).thenAnswer(invocation -> {
+            syncing.countDown();
+            release.await();
+            return new BookChanges(3, true, List.of(book1), List.of());
+        });
+
+        ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry);
+        assertTrue(syncing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> closed = CompletableFuture.runAsync(bookRepository::close);
+        release.countDown();
+        closed.get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, bookRepository.getVersion());
+        assertEquals(List.of(book1), BookSnapshot.read(properties.getSnapshotPath()).books());
+    }
+
+    @Test
+    @DisplayName("Test writes made while a full reload is fetched survive the reload")
+    public void testWritesDuringReload() throws Exception {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+        Book savedBook = createBook(3L, "New Book");
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findChanges(-1)).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await();
+            return new BookChanges(5, true, List.of(book1, book2), List.of());
+        });
+        when(delegate.save(savedBook)).thenReturn(savedBook);
+
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry)) {
+            CompletableFuture<Void> sync = CompletableFuture.runAsync(bookRepository::sync);
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+            bookRepository.save(savedBook);
+            bookRepository.deleteById(1L);
+            release.countDown();
+            sync.get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(book2, savedBook), bookRepository.findAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Test the replica reloads in full when the backend's catalog version goes back")
+    public void testBackendReset() {
+        lenient().when(delegate.findChanges(-1))
+                .thenReturn(new BookChanges(5, true, List.of(createBook(1L, "Book 1")), List.of()))
+                .thenReturn(new BookChanges(2, true, List.of(createBook(2L, "Book 2")), List.of()));
+        lenient().when(delegate.findChanges(5)).thenReturn(new BookChanges(2, false, List.of(), List.of()));
+        lenient().when(delegate.findChanges(2)).thenReturn(new BookChanges(2, false, List.of(), List.of()));
+
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry)) {
+            bookRepository.sync();
+            bookRepository.sync();
+
+            assertEquals(2, bookRepository.getVersion());
+            assertEquals(List.of(createBook(2L, "Book 2")), bookRepository.findAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Test the compact catalog serves the same reads and pages")
+    public void testCompactCatalog() {
+        properties.setCompact(true);
+        Book book1 = new Book(1L, "Book 1", "Author", "978-0-306-40615-7");
+        Book book2 = new Book(2L, "Book 2", "Author", null);
+        Book book3 = createBook(3L, "Book 3");
+        lenient().when(delegate.findChanges(-1)).thenReturn(new BookChanges(5, true, List.of(book1, book2, book3), List.of()));
+        lenient().when(delegate.findChanges(5)).thenReturn(new BookChanges(6, false, List.of(), List.of(2L)));
+
+        try (ReplicatedBookRepository bookRepository = new ReplicatedBookRepository(delegate, properties, meterRegistry)) {
+            bookRepository.sync();
+            bookRepository.sync();
+
+            assertEquals(List.of(book1, book3), bookRepository.findAll());
+            assertEquals(book1, bookRepository.findById(1L));
+            BookPage page = bookRepository.findPage(new BookPageRequest(null, 1, 1L, null));
+            assertEquals(List.of(book3), page.getContent());
+            assertEquals(false, page.isHasNext());
+            verify(delegate, never()).findById(anyLong());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.config.BookResilienceProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.AimdLimiter;
+import com.github.innovationforge.sra.repository.BackendUnavailableException;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.repository.ResilientBookRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Resilient Book Repository Tests")
+public class ResilientBookRepositoryTest {
+
+    @Mock
+    private BookRepository delegate;
+
+    private BookResilienceProperties properties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new BookResilienceProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumNumberOfCalls(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Test the circuit opens on backend failures and reads are served from the last good response")
+    public void testOpenCircuitServesStale() {
+        Book book = createBook(1L, "Book 1");
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findById(1L))
+                .thenReturn(book)
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals(book, bookRepository.findById(1L));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(book, bookRepository.findById(1L));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, bookRepository.circuitState());
+        assertEquals(book, bookRepository.findById(1L));
+        verify(delegate, times(4)).findById(1L);
+        assertEquals(1, meterRegistry.get("backend.rejected").tags("method", "findById", "reason", "circuit_open").counter().count());
+        assertEquals(4, meterRegistry.get("backend.stale").tag("method", "findById").counter().count());
+        assertEquals(1, meterRegistry.get("backend.circuit.transitions").tags("from", "CLOSED", "to", "OPEN").counter().count());
+        assertThrows(BackendUnavailableException.class, () -> bookRepository.findById(2L));
+    }
+
+    @Test
+    @DisplayName("Test not found answers do not open the circuit")
+    public void testClientErrorsIgnored() {
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findById(1L)).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.class, () -> bookRepository.findById(1L));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, bookRepository.circuitState());
+    }
+
+    @Test
+    @DisplayName("Test calls beyond a method's bulkhead are rejected without reaching the backend")
+    public void testBulkheadFull() throws Exception {
+        properties.setBulkheads(Map.of("findAll", 1));
+        properties.setBulkheadMaxWait(Duration.ZERO);
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            calling.countDown();
+            release.await();
+            return List.of(createBook(1L, "Book 1"));
+        });
+
+        CompletableFuture<List<Book>> first = CompletableFuture.supplyAsync(bookRepository::findAll);
+        assertTrue(calling.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BackendUnavailableException.class, bookRepository::findAll);
+        when(delegate.findById(1L)).thenReturn(createBook(1L, "Book 1"));
+        assertEquals("Book 1", bookRepository.findById(1L).getTitle());
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, meterRegistry.get("backend.rejected").tags("method", "findAll", "reason", "bulkhead_full").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test a call waits up to bulkheadMaxWait for a free slot")
+    public void testBulkheadWaits() throws Exception {
+        properties.setBulkheads(Map.of("findAll", 1));
+        properties.setBulkheadMaxWait(Duration.ofSeconds(5));
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            calling.countDown();
+            release.await();
+            return List.of(createBook(1L, "Book 1"));
+        });
+
+        CompletableFuture<List<Book>> first = CompletableFuture.supplyAsync(bookRepository::findAll);
+        assertTrue(calling.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<Book>> second = CompletableFuture.supplyAsync(bookRepository::findAll);
+        release.countDown();
+
+        assertEquals(1, first.get(10, TimeUnit.SECONDS).size());
+        assertEquals(1, second.get(10, TimeUnit.SECONDS).size());
+        assertTrue(meterRegistry.find("backend.rejected").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Errors from the backend count as failures for the circuit and the adaptive limit")
+    public void testErrorsCountAsFailures() {
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findById(1L)).thenThrow(new StackOverflowError());
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(StackOverflowError.class, () -> bookRepository.findById(1L));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, bookRepository.circuitState());
+        assertTrue(meterRegistry.get("backend.limit").gauge().value() < properties.getInitialLimit());
+    }
+
+    @Test
+    @DisplayName("Test failing listing calls open only the listing circuit and leave the adaptive limit alone")
+    public void testListingCallsIsolated() {
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findAll()).thenThrow(new ResourceAccessException("Read timed out"));
+        when(delegate.findById(1L)).thenReturn(createBook(1L, "Book 1"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, bookRepository::findAll);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, bookRepository.listingCircuitState());
+        assertEquals(CircuitBreaker.State.CLOSED, bookRepository.circuitState());
+        assertEquals(properties.getInitialLimit(), meterRegistry.get("backend.limit").gauge().value());
+        assertEquals("Book 1", bookRepository.findById(1L).getTitle());
+    }
+
+    @Test
+    @DisplayName("Test stale reads are only served within the stale TTL")
+    public void testStaleTtl() throws Exception {
+        properties.setStaleTtl(Duration.ofMillis(1));
+        Book book = createBook(1L, "Book 1");
+        ResilientBookRepository bookRepository = new ResilientBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.findById(1L))
+                .thenReturn(book)
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals(book, bookRepository.findById(1L));
+        Thread.sleep(20);
+
+        assertThrows(ResourceAccessException.class, () -> bookRepository.findById(1L));
+    }
+
+    @Test
+    @DisplayName("Test the adaptive limit grows under fast calls and backs off on failures")
+    public void testAimdLimiter() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5, TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        for (int i = 0; i < 8; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            limiter.tryAcquire();
+        }
+        assertEquals(4, limiter.getLimit());
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertEquals(2, limiter.getLimit());
+        limiter.release(0, true);
+        assertEquals(1, limiter.getLimit());
+    }
+}
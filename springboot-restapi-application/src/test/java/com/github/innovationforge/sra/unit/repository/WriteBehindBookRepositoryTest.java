@@ -0,0 +1,226 @@
+package com.github.innovationforge.sra.unit.repository;
+
+import com.github.innovationforge.sra.config.BookWriteBehindProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.repository.WriteBehindBookRepository;
+import com.github.innovationforge.sra.repository.WriteRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.innovationforge.sra.unit.TestUtil.createBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Write-Behind Book Repository Tests")
+public class WriteBehindBookRepositoryTest {
+
+    @Mock
+    private BookRepository delegate;
+
+    private BookWriteBehindProperties properties;
+
+    private MeterRegistry meterRegistry;
+
+    private WriteBehindBookRepository bookRepository;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new BookWriteBehindProperties();
+        properties.setQueueCapacity(1);
+        properties.setParallelism(1);
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookRepository.close();
+    }
+
+    @Test
+    @DisplayName("Test a save completes with the book returned by the backend")
+    public void testSave() {
+        Book newBook = createBook(null, "New Book");
+        Book savedBook = createBook(1L, "New Book");
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(newBook)).thenReturn(savedBook);
+
+        assertEquals(savedBook, bookRepository.save(newBook));
+        assertEquals(1, meterRegistry.get("backend.write.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Test writes are rejected once the queue is full")
+    public void testRejectWhenFull() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(any(Book.class))).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+
+        CompletableFuture<Book> inFlight = bookRepository.saveAsync(createBook(1L, "Book 1"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Book> queued = bookRepository.saveAsync(createBook(2L, "Book 2"));
+
+        assertThrows(WriteRejectedException.class, () -> bookRepository.save(createBook(3L, "Book 3")));
+        assertEquals(1, meterRegistry.get("backend.write.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("Book 1", inFlight.get(5, TimeUnit.SECONDS).getTitle());
+        assertEquals("Book 2", queued.get(5, TimeUnit.SECONDS).getTitle());
+    }
+
+    @Test
+    @DisplayName("Test a blocking caller waits for room in the queue")
+    public void testBlockWhenFull() throws Exception {
+        properties.setOverflow(BookWriteBehindProperties.Overflow.BLOCK);
+        properties.setBlockTimeout(Duration.ofSeconds(5));
+        CountDownLatch sending = new CountDownLatch(1);
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(any(Book.class))).thenAnswer(invocation -> {
+            sending.countDown();
+            Thread.sleep(50);
+            return invocation.getArgument(0);
+        });
+
+        bookRepository.saveAsync(createBook(1L, "Book 1"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        bookRepository.saveAsync(createBook(2L, "Book 2"));
+
+        assertEquals("Book 3", bookRepository.save(createBook(3L, "Book 3")).getTitle());
+        assertEquals(0, meterRegistry.get("backend.write.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test writes to the same id reach the backend in order")
+    public void testSameIdOrder() throws Exception {
+        properties.setQueueCapacity(10);
+        properties.setParallelism(4);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(any(Book.class))).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            if (book.getTitle().equals("v1")) {
+                Thread.sleep(50);
+            }
+            written.add(book.getTitle());
+            return book;
+        });
+
+        List<CompletableFuture<Book>> writes = new ArrayList<>();
+        for (int version = 1; version <= 5; version++) {
+            writes.add(bookRepository.saveAsync(createBook(1L, "v" + version)));
+        }
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("v1", "v2", "v3", "v4", "v5"), written);
+    }
+
+    @Test
+    @DisplayName("Test a rejected write does not let later writes to the id overtake the one still in flight")
+    public void testSameIdOrderAfterRejection() throws Exception {
+        properties.setParallelism(2);
+        CountDownLatch sendingFirst = new CountDownLatch(1);
+        CountDownLatch sendingOther = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch releaseOther = new CountDownLatch(1);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(any(Book.class))).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            if (book.getTitle().equals("v1")) {
+                sendingFirst.countDown();
+                releaseFirst.await();
+            } else if (book.getTitle().equals("Book 2")) {
+                sendingOther.countDown();
+                releaseOther.await();
+            }
+            written.add(book.getTitle());
+            return book;
+        });
+        doAnswer(invocation -> written.add("deleted")).when(delegate).deleteById(1L);
+
+        CompletableFuture<Book> first = bookRepository.saveAsync(createBook(1L, "v1"));
+        assertTrue(sendingFirst.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Book> other = bookRepository.saveAsync(createBook(2L, "Book 2"));
+        assertTrue(sendingOther.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Book> queued = bookRepository.saveAsync(createBook(3L, "Book 3"));
+        assertThrows(WriteRejectedException.class, () -> bookRepository.save(createBook(1L, "rejected")));
+        releaseOther.countDown();
+        other.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Book> later = bookRepository.saveAsync(createBook(1L, "v2"));
+        CompletableFuture<Void> delete = CompletableFuture.runAsync(() -> bookRepository.deleteById(1L));
+        Thread.sleep(100);
+        assertEquals(List.of("Book 2", "Book 3"), written);
+
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        later.get(5, TimeUnit.SECONDS);
+        delete.get(5, TimeUnit.SECONDS);
+        assertEquals("v1", written.get(2));
+    }
+
+    @Test
+    @DisplayName("Test an Error from the backend fails the write instead of leaving it pending")
+    public void testSaveError() throws Exception {
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(any(Book.class))).thenThrow(new StackOverflowError()).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(StackOverflowError.class, () -> bookRepository.save(createBook(1L, "v1")));
+        assertEquals("v2", bookRepository.saveAsync(createBook(1L, "v2")).get(5, TimeUnit.SECONDS).getTitle());
+    }
+
+    @Test
+    @DisplayName("Test closing writes everything accepted and refuses new writes")
+    public void testFlushOnClose() throws Exception {
+        properties.setQueueCapacity(10);
+        bookRepository = new WriteBehindBookRepository(delegate, properties, meterRegistry);
+
+        when(delegate.save(any(Book.class))).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return invocation.getArgument(0);
+        });
+
+        List<CompletableFuture<Book>> writes = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            writes.add(bookRepository.saveAsync(createBook(id, "Book " + id)));
+        }
+        bookRepository.close();
+
+        for (CompletableFuture<Book> write : writes) {
+            assertTrue(write.isDone() && !write.isCompletedExceptionally());
+        }
+        verify(delegate, times(5)).save(any(Book.class));
+        assertThrows(WriteRejectedException.class, () -> bookRepository.save(createBook(6L, "Book 6")));
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.innovationforge.sra.unit.service;
+
+import com.github.innovationforge.sra.config.BookSearchProperties;
+import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BookSearchRequest;
+import com.github.innovationforge.sra.model.BookSearchResult;
+import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.service.BookSearchIndex;
+import com.github.innovationforge.sra.service.SearchIndexUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Book Search Index Tests")
+public class BookSearchIndexTest {
+
+    private static final Book HOBBIT = new Book(1L, "The Hobbit", "J.R.R. Tolkien", "978-0-261-10221-7");
+
+    private static final Book SILMARILLION = new Book(2L, "The Silmarillion", "J.R.R. Tolkien", "978-0-261-10273-6");
+
+    private static final Book DUNE = new Book(3L, "Dune", "Frank Herbert", "978-0-441-17271-9");
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookSearchIndex = new BookSearchIndex(bookRepository, new BookSearchProperties(), meterRegistry);
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            List.of(HOBBIT, SILMARILLION, DUNE).forEach(consumer);
+            return null;
+        }).when(bookRepository).streamAll(any(Consumer.class));
+        bookSearchIndex.refresh();
+    }
+
+    @Test
+    @DisplayName("Test looking up by ISBN ignores hyphens and by author ignores case")
+    public void testIsbnAndAuthor() {
+        assertEquals(List.of(DUNE), search(new BookSearchRequest("9780441172719", null, null, null, 10)).getContent());
+        assertEquals(List.of(HOBBIT, SILMARILLION), search(new BookSearchRequest(null, "j.r.r. tolkien", null, null, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("Test title prefixes and title words, combined with other criteria and limited")
+    public void testTitleQueries() {
+        assertEquals(List.of(HOBBIT, SILMARILLION), search(new BookSearchRequest(null, null, "the", null, 10)).getContent());
+        assertEquals(List.of(SILMARILLION), search(new BookSearchRequest(null, null, null, "SILMA", 10)).getContent());
+        assertEquals(List.of(), search(new BookSearchRequest(null, "Frank Herbert", null, "hob", 10)).getContent());
+
+        BookSearchResult limited = search(new BookSearchRequest(null, "J.R.R. Tolkien", null, "the", 1));
+        assertEquals(List.of(HOBBIT), limited.getContent());
+        assertEquals(2, limited.getTotal());
+    }
+
+    @Test
+    @DisplayName("Test writes update every index")
+    public void testWrites() {
+        bookSearchIndex.put(new Book(1L, "There and Back Again", "Bilbo Baggins", "978-0-261-10221-7"));
+        bookSearchIndex.remove(3L);
+
+        assertEquals(List.of(), search(new BookSearchRequest(null, null, null, "hobbit", 10)).getContent());
+        assertEquals(List.of(SILMARILLION), search(new BookSearchRequest(null, "J.R.R. Tolkien", null, null, 10)).getContent());
+        assertEquals("Bilbo Baggins", search(new BookSearchRequest(null, null, "there and", null, 10)).getContent().get(0).getAuthor());
+        assertEquals(List.of(), search(new BookSearchRequest("978-0-441-17271-9", null, null, null, 10)).getContent());
+        assertEquals(2, meterRegistry.get("books.index.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Test searches are refused until the indexes are built, and recorded once they are")
+    public void testReadiness() {
+        BookSearchIndex unbuilt = new BookSearchIndex(bookRepository, new BookSearchProperties(), new SimpleMeterRegistry());
+        assertThrows(SearchIndexUnavailableException.class, () -> unbuilt.search(new BookSearchRequest("1", null, null, null, 1)));
+
+        search(new BookSearchRequest(null, null, null, "dune", 10));
+        assertEquals(1, meterRegistry.get("books.search").timer().count());
+        assertTrue(meterRegistry.get("books.index.memory").tag("index", "word").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Test writes are ignored until the first rebuild starts")
+    public void testWritesBeforeFirstRebuild() {
+        MeterRegistry unbuiltRegistry = new SimpleMeterRegistry();
+        BookSearchIndex unbuilt = new BookSearchIndex(bookRepository, new BookSearchProperties(), unbuiltRegistry);
+
+        unbuilt.put(DUNE);
+
+        assertEquals(0, unbuiltRegistry.get("books.index.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Test a rebuild of a large catalog sharing one author builds each posting list once")
+    @SuppressWarnings("unchecked")
+    public void testLargeRebuild() {
+        int size = 200_000;
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            for (long id = size; id > 0; id--) {
+                consumer.accept(new Book(id, "Volume " + id, "Anonymous", "ISBN-" + id));
+            }
+            return null;
+        }).when(bookRepository).streamAll(any(Consumer.class));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), bookSearchIndex::refresh);
+
+        BookSearchResult result = search(new BookSearchRequest(null, "anonymous", null, null, 2));
+        assertEquals(size, result.getTotal());
+        assertEquals(1L, result.getContent().get(0).getId());
+        assertEquals(size, meterRegistry.get("books.index.size").gauge().value());
+    }
+
+    private BookSearchResult search(BookSearchRequest request) {
+        return bookSearchIndex.search(request);
+    }
+}
@@ -1,8 +1,14 @@
 package com.github.innovationforge.sra.unit.service;
 
+import com.github.innovationforge.sra.config.BookImportProperties;
 import com.github.innovationforge.sra.model.Book;
+import com.github.innovationforge.sra.model.BulkImportResult;
+import com.github.innovationforge.sra.repository.AsyncBookRepository;
 import com.github.innovationforge.sra.repository.BookRepository;
+import com.github.innovationforge.sra.service.BookSearchIndex;
 import com.github.innovationforge.sra.service.BookServiceImpl;
+import com.github.innovationforge.sra.service.InvalidRecordException;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,11 +16,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.github.innovationforge.sra.unit.TestUtil.createBook;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +40,12 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private AsyncBookRepository asyncBookRepository;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
     @Test
     @DisplayName("Test getting all books")
     public void testGetAllBooks() {
@@ -42,6 +61,26 @@ public class BookServiceTest {
         assertEquals(expectedBooks, actualBooks);
     }
 
+    @Test
+    @DisplayName("Test streaming all books")
+    @SuppressWarnings("unchecked")
+    public void testStreamAllBooks() {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book1);
+            consumer.accept(book2);
+            return null;
+        }).when(bookRepository).streamAll(any(Consumer.class));
+
+        List<Book> actualBooks = new ArrayList<>();
+        bookService.streamAllBooks(actualBooks::add);
+
+        assertEquals(Arrays.asList(book1, book2), actualBooks);
+    }
+
     @Test
     @DisplayName("Test getting a book by id")
     public void testGetBook() {
@@ -54,6 +93,34 @@ public class BookServiceTest {
         assertEquals(book1.getTitle(), foundBook.getTitle());
     }
 
+    @Test
+    @DisplayName("Test getting several books by id")
+    public void testGetBooks() {
+        Book book1 = createBook(1L, "Book 1");
+        Book book2 = createBook(2L, "Book 2");
+
+        List<Long> ids = Arrays.asList(1L, 2L);
+        List<Book> expectedBooks = Arrays.asList(book1, book2);
+
+        when(bookRepository.findAllById(ids)).thenReturn(expectedBooks);
+
+        List<Book> actualBooks = bookService.getBooks(ids);
+
+        assertEquals(expectedBooks, actualBooks);
+    }
+
+    @Test
+    @DisplayName("Test getting a book by id asynchronously")
+    public void testGetBookAsync() {
+        Book book1 = createBook(1L, "Book 1");
+
+        when(asyncBookRepository.findById(1L)).thenReturn(CompletableFuture.completedFuture(book1));
+
+        Book foundBook = bookService.getBookAsync(1L).join();
+
+        assertEquals(book1.getTitle(), foundBook.getTitle());
+    }
+
     @Test
     @DisplayName("Test creating a book")
     public void testCreateBook() {
@@ -65,6 +132,20 @@ public class BookServiceTest {
         Book createdBook = bookService.createBook(newBook);
 
         assertEquals(savedBook.getTitle(), createdBook.getTitle());
+        verify(bookSearchIndex, times(1)).put(savedBook);
+    }
+
+    @Test
+    @DisplayName("Test creating a book asynchronously")
+    public void testCreateBookAsync() {
+        Book newBook = createBook(null, "New Book");
+        Book savedBook = createBook(1L, "New Book");
+
+        when(bookRepository.saveAsync(newBook)).thenReturn(CompletableFuture.completedFuture(savedBook));
+
+        Book createdBook = bookService.createBookAsync(newBook).join();
+
+        assertEquals(savedBook, createdBook);
     }
 
     @Test
@@ -89,5 +170,117 @@ public class BookServiceTest {
         bookService.deleteBook(1L);
 
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(bookSearchIndex, times(1)).remove(1L);
+    }
+
+    @Test
+    @DisplayName("Test importing books totals the upload and summarizes batches with errors")
+    public void testImportBooks() {
+        BookServiceImpl importingService = importingService(2);
+        Book failing = createBook(null, "Failing Book");
+
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.save(failing)).thenThrow(new IllegalStateException("Backend unavailable"));
+
+        BulkImportResult result = importingService.importBooks(Arrays.asList(
+                null, createBook(null, " "), failing, createBook(null, "Book 4"), createBook(null, "Book 5"), createBook(null, "Book 6")
+        ).iterator());
+
+        assertNull(result.getError());
+        assertEquals(6, result.getRecords());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getBatches().size());
+        assertEquals(List.of("record 1: record is null", "record 2: title must not be blank"), result.getBatches().get(0).getErrors());
+        assertEquals(List.of("record 3: Backend unavailable"), result.getBatches().get(1).getErrors());
+        assertEquals(3, result.getBatches().get(1).getFirstRecord());
+        verify(bookRepository, times(4)).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Test a record that could not be mapped is rejected and the import carries on")
+    public void testImportBooksInvalidRecord() {
+        BookServiceImpl importingService = importingService(10);
+        Iterator<Book> books = List.of(createBook(null, "Book 1"), createBook(null, "Book 3")).iterator();
+        int[] position = {0};
+
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkImportResult result = importingService.importBooks(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return position[0] < 3;
+            }
+
+            @Override
+            public Book next() {
+                if (position[0]++ == 1) {
+                    throw new InvalidRecordException("Cannot deserialize value of type `java.lang.Long` from String \"abc\"");
+                }
+                return books.next();
+            }
+        });
+
+        assertNull(result.getError());
+        assertEquals(3, result.getRecords());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(List.of("record 2: Cannot deserialize value of type `java.lang.Long` from String \"abc\""),
+                result.getBatches().get(0).getErrors());
+    }
+
+    @Test
+    @DisplayName("Test only the first batches with errors are listed while the totals cover the whole upload")
+    public void testImportBooksReportsBoundedBatches() {
+        BookServiceImpl importingService = importingService(1);
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            books.add(createBook(null, " "));
+        }
+
+        BulkImportResult result = importingService.importBooks(books.iterator());
+
+        assertEquals(5, result.getRejected());
+        assertEquals(2, result.getBatches().size());
+        assertEquals(1, result.getBatches().get(0).getBatch());
+        assertEquals(2, result.getBatches().get(1).getBatch());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    @DisplayName("Test an unreadable record ends the import with an error")
+    public void testImportBooksUnreadable() {
+        BookServiceImpl importingService = importingService(10);
+        Iterator<Book> books = List.of(createBook(null, "Book 1")).iterator();
+
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkImportResult result = importingService.importBooks(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (!books.hasNext()) {
+                    throw new UncheckedIOException(new IOException("Unexpected end-of-input"));
+                }
+                return true;
+            }
+
+            @Override
+            public Book next() {
+                return books.next();
+            }
+        });
+
+        assertEquals("Could not read record 2: Unexpected end-of-input", result.getError());
+        assertEquals(1, result.getImported());
+    }
+
+    private BookServiceImpl importingService(int batchSize) {
+        BookImportProperties properties = new BookImportProperties();
+        properties.setBatchSize(batchSize);
+        properties.setParallelism(2);
+        properties.setMaxReportedBatches(2);
+        return new BookServiceImpl(bookRepository, asyncBookRepository, properties,
+                Validation.buildDefaultValidatorFactory().getValidator(), bookSearchIndex);
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,34 @@
 package com.github.innovationforge.wsp;
 
 
-import com.github.tomakehurst.wiremock.common.ClasspathFileSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.innovationforge.wsp.catalog.SyntheticCatalog;
+import com.github.innovationforge.wsp.catalog.SyntheticCatalogTransformer;
+import com.github.innovationforge.wsp.config.CatalogProperties;
+import com.github.innovationforge.wsp.config.FaultProfileProperties;
+import com.github.innovationforge.wsp.config.StoreProperties;
+import com.github.innovationforge.wsp.fault.FaultInjectionTransformer;
+import com.github.innovationforge.wsp.format.BinaryFormatTransformer;
+import com.github.innovationforge.wsp.fault.FaultProfileAdminApi;
+import com.github.innovationforge.wsp.fault.FaultProfiles;
+import com.github.innovationforge.wsp.store.Book;
+import com.github.innovationforge.wsp.store.BookStore;
+import com.github.innovationforge.wsp.store.BookStoreAdminApi;
+import com.github.innovationforge.wsp.store.BookStoreTransformer;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
 import org.springframework.cloud.contract.wiremock.WireMockSpring;
 import org.springframework.context.annotation.Bean;
 
+import java.io.IOException;
+
 @SpringBootApplication
 @AutoConfigureWireMock
 public class WiremockStubProviderApplication {
@@ -28,14 +45,50 @@ public class WiremockStubProviderApplication {
     }
 
     @Bean
-    public Options wireMockOptions() {
+    public FaultProfiles faultProfiles(FaultProfileProperties faultProfileProperties) {
+        return new FaultProfiles(faultProfileProperties);
+    }
+
+    @Bean
+    public SyntheticCatalog syntheticCatalog(CatalogProperties catalogProperties) {
+        return new SyntheticCatalog(catalogProperties.getSize(), catalogProperties.getSeed());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "stub.store", name = "enabled", havingValue = "true")
+    public BookStore bookStore(StoreProperties storeProperties, CatalogProperties catalogProperties,
+                               SyntheticCatalog syntheticCatalog) throws IOException {
+        BookStore store = new BookStore(storeProperties.getReportInterval());
+        if (catalogProperties.isEnabled()) {
+            ObjectMapper objectMapper = new ObjectMapper();
+            for (long id = 1; id <= syntheticCatalog.getSize(); id++) {
+                store.load(objectMapper.readValue(syntheticCatalog.bookJson(id), Book.class));
+            }
+        }
+        return store;
+    }
+
+    @Bean
+    public Options wireMockOptions(FaultProfiles faultProfiles, CatalogProperties catalogProperties,
+                                   SyntheticCatalog syntheticCatalog, ObjectProvider<BookStore> bookStore) {
         final WireMockConfiguration options = WireMockSpring.options();
         options.port(serverPort);
         options.disableRequestJournal();
         options.asynchronousResponseEnabled(true);
         options.asynchronousResponseThreads(10);
-        ClasspathFileSource fileSource = new ClasspathFileSource(filesPath);
-        if (fileSource.getUri().getPath() == null) {
+        options.extensions(new FaultInjectionTransformer(faultProfiles), new FaultProfileAdminApi(faultProfiles));
+        BookStore store = bookStore.getIfAvailable();
+        if (store != null) {
+            options.extensions(new BookStoreTransformer(store), new BookStoreAdminApi(store));
+        } else if (catalogProperties.isEnabled()) {
+            options.extensions(new SyntheticCatalogTransformer(syntheticCatalog));
+        }
+        options.extensions(new BinaryFormatTransformer());
+        // Keeps WireMock from reading whole streamed bodies into memory for its serve events
+        options.maxLoggedResponseSize(1024);
+        // Inside the repackaged jar the stub files live under BOOT-INF/classes; anywhere else (IDE, plain jar)
+        // they are at the classpath root
+        if (getClass().getClassLoader().getResource("BOOT-INF/classes/" + filesPath) != null) {
             options.usingFilesUnderClasspath("BOOT-INF/classes/" + filesPath);
         } else {
             options.usingFilesUnderClasspath(filesPath);
@@ -0,0 +1,139 @@
+package com.github.innovationforge.wsp.catalog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.innovationforge.wsp.support.JsonArrayInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * A deterministic catalog of books with ids {@code 1..size}. Every field is a pure function of the seed and the
+ * id, so the same book is returned whether it is read on its own or as part of the listing, and no book is
+ * ever held in memory beyond the chunk currently being written.
+ */
+public class SyntheticCatalog {
+
+    public static final long MAX_SIZE = 10_000_000;
+
+    // Coprime with 10^9, so multiplying by it permutes the 9-digit ISBN body and keeps ISBNs unique
+    private static final long ISBN_MULTIPLIER = 387_420_489L;
+
+    private static final long ISBN_BODY_RANGE = 1_000_000_000L;
+
+    private static final String[] ADJECTIVES = {
+            "Silent", "Hidden", "Broken", "Golden", "Last", "Lost", "Distant", "Burning", "Secret", "Quiet",
+            "Crimson", "Endless", "Frozen", "Hollow", "Iron", "Northern", "Pale", "Restless", "Savage", "Shattered",
+            "Sleeping", "Stolen", "Sunken", "Twisted", "Velvet", "Wandering", "Wild", "Winter", "Ancient", "Bright",
+            "Dark", "Final"};
+
+    private static final String[] NOUNS = {
+            "River", "Garden", "Empire", "Harbor", "Kingdom", "Lantern", "Mirror", "Mountain", "Ocean", "Orchard",
+            "Palace", "Shadow", "Storm", "Tower", "Valley", "Voyage", "Witness", "Archive", "Bridge", "Compass",
+            "Desert", "Engine", "Forest", "Frontier", "Island", "Journey", "Labyrinth", "Library", "Machine", "Meadow",
+            "Signal", "Station"};
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Amara", "Boris", "Chen", "Clara", "Dmitri", "Elena", "Emeka", "Farah",
+            "Grace", "Hiro", "Ines", "Ivan", "Jonas", "Kemi", "Lars", "Leila", "Marco", "Mei",
+            "Nadia", "Omar", "Priya", "Rafael", "Sana", "Sofia", "Tomas", "Uma", "Viktor", "Wen",
+            "Yara", "Zoe"};
+
+    private static final String[] LAST_NAMES = {
+            "Abbott", "Banerjee", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Haddad", "Ito", "Jensen",
+            "Kowalski", "Larsen", "Moreau", "Nakamura", "Okafor", "Petrov", "Quinn", "Rossi", "Schmidt", "Tanaka",
+            "Usman", "Varga", "Walsh", "Xu", "Yilmaz", "Zhang", "Novak", "Silva", "Murphy", "Kim",
+            "Lopez", "Weber"};
+
+    private final long size;
+
+    private final long seed;
+
+    public SyntheticCatalog(long size, long seed) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Catalog size must be between 1 and " + MAX_SIZE + " but was " + size);
+        }
+        this.size = size;
+        this.seed = seed;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean contains(long id) {
+        return id >= 1 && id <= size;
+    }
+
+    public byte[] bookJson(long id) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = JsonArrayInputStream.createGenerator(out)) {
+            writeBook(generator, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Streams a JSON array of up to {@code limit} books starting at {@code firstId}, generating them as the
+     * stream is read.
+     */
+    public InputStream stream(long firstId, long limit) {
+        long from = Math.max(firstId, 1);
+        long to = Math.min(size + 1, from + Math.min(Math.max(limit, 0), size));
+        long[] nextId = {from};
+        return new JsonArrayInputStream(generator -> {
+            if (nextId[0] >= to) {
+                return false;
+            }
+            writeBook(generator, nextId[0]++);
+            return true;
+        });
+    }
+
+    void writeBook(JsonGenerator generator, long id) throws IOException {
+        long bits = mix(seed ^ mix(id));
+        generator.writeStartObject();
+        generator.writeNumberField("id", id);
+        generator.writeStringField("title", title(bits));
+        generator.writeStringField("author", author(bits >>> 20));
+        generator.writeStringField("isbn", isbn(id));
+        generator.writeEndObject();
+    }
+
+    private static String title(long bits) {
+        String adjective = ADJECTIVES[(int) (bits & 31)];
+        String noun = NOUNS[(int) ((bits >>> 5) & 31)];
+        String other = NOUNS[(int) ((bits >>> 10) & 31)];
+        return switch ((int) ((bits >>> 15) & 3)) {
+            case 0 -> "The " + adjective + " " + noun;
+            case 1 -> noun + " of the " + adjective + " " + other;
+            case 2 -> adjective + " " + noun + "s";
+            default -> "The " + noun + " and the " + other;
+        };
+    }
+
+    private static String author(long bits) {
+        return FIRST_NAMES[(int) (bits & 31)] + " " + LAST_NAMES[(int) ((bits >>> 5) & 31)];
+    }
+
+    // ISBN-13 in the 978 prefix with a valid check digit
+    private String isbn(long id) {
+        long body = Math.floorMod(id * ISBN_MULTIPLIER + seed, ISBN_BODY_RANGE);
+        String digits = String.format("978%09d", body);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
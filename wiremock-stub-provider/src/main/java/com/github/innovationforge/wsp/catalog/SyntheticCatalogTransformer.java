@@ -0,0 +1,69 @@
+package com.github.innovationforge.wsp.catalog;
+
+import com.github.innovationforge.wsp.fault.FaultInjectionTransformer;
+import com.github.innovationforge.wsp.support.Requests;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.io.InputStream;
+
+/**
+ * Replaces the bodies of the {@code list_books} and {@code get_book} mappings with books from a
+ * {@link SyntheticCatalog}. The listing honours {@code limit}, {@code offset} and {@code after} query parameters
+ * and is streamed, so catalogs of millions of books are never materialized. Responses already turned into
+ * errors or faults by {@link FaultInjectionTransformer} are left alone.
+ */
+public class SyntheticCatalogTransformer extends ResponseTransformer {
+
+    public static final String NAME = "synthetic-catalog";
+
+    private static final HttpHeaders JSON_HEADERS = new HttpHeaders(new HttpHeader("Content-Type", "application/json"));
+
+    private final SyntheticCatalog catalog;
+
+    public SyntheticCatalogTransformer(SyntheticCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+        Object mapping = parameters == null ? null : parameters.get(FaultInjectionTransformer.MAPPING_PARAMETER);
+        if (mapping == null || response.getStatus() != 200 || response.getFault() != null) {
+            return response;
+        }
+        return switch (mapping.toString()) {
+            case "list_books" -> Response.Builder.like(response)
+                    .but()
+                    .headers(JSON_HEADERS)
+                    .body(() -> listing(request))
+                    .build();
+            case "get_book" -> book(request, response);
+            default -> response;
+        };
+    }
+
+    private InputStream listing(Request request) {
+        long limit = Requests.longParameter(request, "limit", catalog.getSize());
+        long after = Requests.longParameter(request, "after", -1);
+        long firstId = after >= 0 ? after + 1 : Requests.longParameter(request, "offset", 0) + 1;
+        return catalog.stream(firstId, limit);
+    }
+
+    private Response book(Request request, Response response) {
+        long id = Requests.idFromPath(request);
+        if (!catalog.contains(id)) {
+            return Response.Builder.like(response).but().status(404).headers(new HttpHeaders()).body(new byte[0]).build();
+        }
+        return Response.Builder.like(response).but().headers(JSON_HEADERS).body(catalog.bookJson(id)).build();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
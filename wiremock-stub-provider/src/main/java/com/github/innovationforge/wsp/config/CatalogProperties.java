@@ -0,0 +1,15 @@
+package com.github.innovationforge.wsp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stub.catalog")
+public class CatalogProperties {
+    // Serves a generated catalog from the list and get-by-id mappings instead of the canned files
+    private boolean enabled;
+    private long size = 1_000;
+    private long seed = 42;
+}
@@ -0,0 +1,20 @@
+package com.github.innovationforge.wsp.config;
+
+import com.github.innovationforge.wsp.fault.FaultProfile;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stub.server")
+public class FaultProfileProperties {
+    // Profile applied to every mapping, "none" serves responses unchanged
+    private String profile = "none";
+    // Per-mapping profiles keyed by the "mapping" transformer parameter of the mapping file
+    private Map<String, String> mappingProfiles = new LinkedHashMap<>();
+    private Map<String, FaultProfile> profiles = new LinkedHashMap<>();
+}
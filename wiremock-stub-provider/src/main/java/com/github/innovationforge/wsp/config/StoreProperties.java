@@ -0,0 +1,17 @@
+package com.github.innovationforge.wsp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stub.store")
+public class StoreProperties {
+    // Serves the book mappings from a mutable in-memory store; preloaded from stub.catalog when that is enabled
+    private boolean enabled;
+    // How often throughput is logged, zero turns the log off
+    private Duration reportInterval = Duration.ofSeconds(10);
+}
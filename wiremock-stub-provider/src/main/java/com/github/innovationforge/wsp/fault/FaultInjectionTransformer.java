@@ -0,0 +1,67 @@
+package com.github.innovationforge.wsp.fault;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies the active {@link FaultProfile} to every stub response. Mappings identify themselves through the
+ * {@value #MAPPING_PARAMETER} transformer parameter so they can be given their own profile.
+ */
+public class FaultInjectionTransformer extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "fault-injection";
+
+    public static final String MAPPING_PARAMETER = "mapping";
+
+    private final FaultProfiles faultProfiles;
+
+    public FaultInjectionTransformer(FaultProfiles faultProfiles) {
+        this.faultProfiles = faultProfiles;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files,
+                                        Parameters parameters) {
+        Object mapping = parameters == null ? null : parameters.get(MAPPING_PARAMETER);
+        FaultProfile profile = faultProfiles.resolve(mapping == null ? null : mapping.toString());
+        return profile == null ? responseDefinition : apply(responseDefinition, profile, ThreadLocalRandom.current());
+    }
+
+    static ResponseDefinition apply(ResponseDefinition responseDefinition, FaultProfile profile, Random random) {
+        if (random.nextDouble() * 100 < profile.getResetPercentage()) {
+            return ResponseDefinitionBuilder.responseDefinition().withFault(Fault.CONNECTION_RESET_BY_PEER).build();
+        }
+        ResponseDefinitionBuilder response = random.nextDouble() * 100 < profile.getErrorPercentage()
+                ? ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(profile.getErrorStatus())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"error\":\"Injected failure\"}")
+                : ResponseDefinitionBuilder.like(responseDefinition);
+        if (profile.getFixedDelay() != null) {
+            response.withFixedDelay((int) profile.getFixedDelay().toMillis());
+        }
+        if (profile.getLognormalMedian() != null) {
+            response.withLogNormalRandomDelay(profile.getLognormalMedian().toMillis(), profile.getLognormalSigma());
+        }
+        if (profile.getUniformMin() != null && profile.getUniformMax() != null) {
+            response.withUniformRandomDelay((int) profile.getUniformMin().toMillis(), (int) profile.getUniformMax().toMillis());
+        }
+        if (profile.getDribbleChunks() > 0 && profile.getDribbleDuration() != null) {
+            response.withChunkedDribbleDelay(profile.getDribbleChunks(), (int) profile.getDribbleDuration().toMillis());
+        }
+        return response.build();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.innovationforge.wsp.fault;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Backend behaviour applied on top of a stub response. Unset fields leave that aspect of the response alone;
+ * only one delay kind (fixed, lognormal or uniform) should be configured per profile.
+ */
+@Data
+public class FaultProfile {
+    private Duration fixedDelay;
+    private Duration lognormalMedian;
+    private double lognormalSigma = 0.1;
+    private Duration uniformMin;
+    private Duration uniformMax;
+    // Sends the body in this many chunks spread over dribbleDuration, to simulate a slow link
+    private int dribbleChunks;
+    private Duration dribbleDuration;
+    // Share of requests, 0 to 100, answered with a TCP reset
+    private double resetPercentage;
+    // Share of requests, 0 to 100, answered with errorStatus instead of the stub body
+    private double errorPercentage;
+    private int errorStatus = 503;
+}
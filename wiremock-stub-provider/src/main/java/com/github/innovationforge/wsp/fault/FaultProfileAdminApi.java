@@ -0,0 +1,67 @@
+package com.github.innovationforge.wsp.fault;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.admin.Router;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.AdminApiExtension;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.util.Map;
+
+/**
+ * Switches fault profiles at runtime.
+ * <ul>
+ *     <li>{@code GET /__admin/fault-profiles} shows the active and available profiles</li>
+ *     <li>{@code POST /__admin/fault-profiles} with {@code {"profile": "slow"}} sets the global profile, adding
+ *     {@code "mapping": "get_book"} sets it for one mapping only; {@code "none"} switches injection off</li>
+ * </ul>
+ */
+public class FaultProfileAdminApi implements AdminApiExtension {
+
+    private final FaultProfiles faultProfiles;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FaultProfileAdminApi(FaultProfiles faultProfiles) {
+        this.faultProfiles = faultProfiles;
+    }
+
+    @Override
+    public void contributeAdminApiRoutes(Router router) {
+        router.add(RequestMethod.GET, "/fault-profiles", (admin, request, pathParams) -> json(200, faultProfiles.describe()));
+        router.add(RequestMethod.POST, "/fault-profiles", (admin, request, pathParams) -> {
+            try {
+                JsonNode body = objectMapper.readTree(request.getBodyAsString());
+                String profile = body.path("profile").asText(FaultProfiles.NONE);
+                if (body.hasNonNull("mapping")) {
+                    faultProfiles.activate(body.get("mapping").asText(), profile);
+                } else {
+                    faultProfiles.activate(profile);
+                }
+                return json(200, faultProfiles.describe());
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                return json(400, Map.of("error", e.getMessage()));
+            }
+        });
+    }
+
+    private ResponseDefinition json(int status, Object body) {
+        try {
+            return ResponseDefinitionBuilder.responseDefinition()
+                    .withStatus(status)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(objectMapper.writeValueAsString(body))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "fault-profiles-admin";
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.innovationforge.wsp.fault;
+
+import com.github.innovationforge.wsp.config.FaultProfileProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The configured fault profiles and which of them is active, globally and per mapping. The active selection
+ * can be changed at runtime through {@link FaultProfileAdminApi}.
+ */
+public class FaultProfiles {
+
+    public static final String NONE = "none";
+
+    private final Map<String, FaultProfile> profiles;
+
+    private final AtomicReference<String> globalProfile = new AtomicReference<>(NONE);
+
+    private final Map<String, String> mappingProfiles = new ConcurrentHashMap<>();
+
+    public FaultProfiles(FaultProfileProperties properties) {
+        this.profiles = Map.copyOf(properties.getProfiles());
+        activate(properties.getProfile());
+        properties.getMappingProfiles().forEach(this::activate);
+    }
+
+    public void activate(String profile) {
+        globalProfile.set(checked(profile));
+    }
+
+    public void activate(String mapping, String profile) {
+        if (NONE.equals(checked(profile))) {
+            mappingProfiles.remove(mapping);
+        } else {
+            mappingProfiles.put(mapping, profile);
+        }
+    }
+
+    /**
+     * Returns the profile for a mapping, falling back to the global profile, or {@code null} when responses
+     * should be served unchanged.
+     */
+    public FaultProfile resolve(String mapping) {
+        String profile = mapping == null ? null : mappingProfiles.get(mapping);
+        return profiles.get(profile != null ? profile : globalProfile.get());
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("profile", globalProfile.get());
+        description.put("mappingProfiles", new TreeMap<>(mappingProfiles));
+        description.put("available", new TreeMap<>(profiles).keySet());
+        return description;
+    }
+
+    private String checked(String profile) {
+        if (profile == null || profile.isBlank()) {
+            return NONE;
+        }
+        if (!NONE.equals(profile) && !profiles.containsKey(profile)) {
+            throw new IllegalArgumentException("Unknown fault profile '" + profile + "', available: " + new TreeMap<>(profiles).keySet());
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.innovationforge.wsp.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.innovationforge.wsp.support.JsonArrayInputStream;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.http.ContentTypeHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-encodes successful JSON responses as Smile or CBOR when the request's Accept header prefers one of them, so
+ * clients can be pointed at the stub with a binary wire format. Arrays are transcoded element by element while the
+ * body is read, which keeps streamed listings streaming. Requests are still expected in JSON. Registered after the
+ * other transformers so it sees their final bodies.
+ */
+public class BinaryFormatTransformer extends ResponseTransformer {
+
+    public static final String NAME = "binary-format";
+
+    public static final String APPLICATION_JSON = "application/json";
+
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Map<String, JsonFactory> FACTORIES = Map.of(
+            APPLICATION_SMILE, new SmileFactory(),
+            APPLICATION_CBOR, new CBORFactory());
+
+    @Override
+    public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+        if (response.getStatus() < 200 || response.getStatus() >= 300 || response.getFault() != null) {
+            return response;
+        }
+        ContentTypeHeader contentType = response.getHeaders().getContentTypeHeader();
+        if (!contentType.isPresent() || !APPLICATION_JSON.equals(contentType.mimeTypePart())) {
+            return response;
+        }
+        String mediaType = preferredBinaryType(request.getHeader("Accept"));
+        if (mediaType == null) {
+            return response;
+        }
+        JsonFactory factory = FACTORIES.get(mediaType);
+        return Response.Builder.like(response)
+                .but()
+                .headers(withContentType(response.getHeaders(), mediaType))
+                .body(() -> transcode(response.getBodyStream(), factory))
+                .build();
+    }
+
+    /**
+     * Returns the binary media type listed before any JSON or wildcard type in the Accept header, or {@code null}
+     * when JSON should be kept. Quality values are ignored; clients list types in order of preference.
+     */
+    static String preferredBinaryType(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        for (String range : accept.split(",")) {
+            String type = range.split(";", 2)[0].trim().toLowerCase();
+            if (FACTORIES.containsKey(type)) {
+                return type;
+            }
+            if (type.equals(APPLICATION_JSON) || type.equals("application/*") || type.equals("*/*")) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    static InputStream transcode(InputStream json, JsonFactory factory) {
+        try {
+            JsonParser parser = JSON_FACTORY.createParser(json);
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                return new JsonArrayInputStream(factory, generator -> {
+                    JsonToken token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        parser.close();
+                        return false;
+                    }
+                    generator.copyCurrentStructure(parser);
+                    return true;
+                });
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (parser; JsonGenerator generator = factory.createGenerator(out)) {
+                generator.copyCurrentStructure(parser);
+            }
+            return new ByteArrayInputStream(out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HttpHeaders withContentType(HttpHeaders headers, String mediaType) {
+        List<HttpHeader> copied = new ArrayList<>();
+        for (HttpHeader header : headers.all()) {
+            if (!header.keyEquals(ContentTypeHeader.KEY) && !header.keyEquals("Content-Length")) {
+                copied.add(header);
+            }
+        }
+        copied.add(new HttpHeader(ContentTypeHeader.KEY, mediaType));
+        return new HttpHeaders(copied);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.innovationforge.wsp.store;
+
+public record Book(Long id, String title, String author, String isbn) {
+
+    public Book withId(long id) {
+        return new Book(id, title, author, isbn);
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.innovationforge.wsp.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent in-memory book store keyed by primitive {@code long} ids, so reads and writes from many request
+ * threads neither lock nor box. Counts every operation and can log its own throughput. Every write and delete
+ * bumps a catalog version, so clients can ask for just the books changed since the version they last saw.
+ */
+@Slf4j
+public class BookStore implements AutoCloseable {
+
+    public enum Operation {
+        LIST, GET, CREATE, UPDATE, DELETE, MISS
+    }
+
+    private final NonBlockingHashMapLong<Book> books = new NonBlockingHashMapLong<>();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final AtomicLong version = new AtomicLong();
+
+    // Catalog version of the last write or delete per id; deleted ids stay here as tombstones
+    private final NonBlockingHashMapLong<Long> changes = new NonBlockingHashMapLong<>();
+
+    // Version of the last clear, which dropped the tombstones; changes since an older version are unknown
+    private volatile long clearedAt;
+
+    private final Map<Operation, LongAdder> counters = new EnumMap<>(Operation.class);
+
+    private final long startNanos = System.nanoTime();
+
+    private final ScheduledExecutorService reporter;
+
+    private long lastReportTotal;
+
+    public BookStore(Duration reportInterval) {
+        for (Operation operation : Operation.values()) {
+            counters.put(operation, new LongAdder());
+        }
+        if (reportInterval.isZero() || reportInterval.isNegative()) {
+            reporter = null;
+        } else {
+            reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "book-store-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = reportInterval.toMillis();
+            reporter.scheduleAtFixedRate(() -> report(millis), millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stores a book under its own id without counting a write; used to preload the store.
+     */
+    public void load(Book book) {
+        books.put(book.id(), book);
+        ids.accumulateAndGet(book.id(), Math::max);
+        changed(book.id());
+    }
+
+    public Book create(Book book) {
+        count(Operation.CREATE);
+        Book created = book.withId(ids.incrementAndGet());
+        books.put(created.id(), created);
+        changed(created.id());
+        return created;
+    }
+
+    public Book get(long id) {
+        Book book = books.get(id);
+        count(book == null ? Operation.MISS : Operation.GET);
+        return book;
+    }
+
+    /**
+     * Replaces an existing book, returning {@code null} when there is nothing to replace.
+     */
+    public Book update(long id, Book book) {
+        Book updated = book.withId(id);
+        boolean replaced = books.replace(id, updated) != null;
+        count(replaced ? Operation.UPDATE : Operation.MISS);
+        if (replaced) {
+            changed(id);
+        }
+        return replaced ? updated : null;
+    }
+
+    public void delete(long id) {
+        boolean removed = books.remove(id) != null;
+        count(removed ? Operation.DELETE : Operation.MISS);
+        if (removed) {
+            changed(id);
+        }
+    }
+
+    /**
+     * Ids currently stored, in ascending order.
+     */
+    public long[] ids() {
+        count(Operation.LIST);
+        long[] keys = books.keySetLong();
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Ids written or deleted after the given catalog version, in ascending order, or {@code null} when the store
+     * was cleared since then and only a full listing is correct. Deleted ids are among them and have no book to
+     * {@link #peek(long)}.
+     */
+    public long[] changedSince(long since) {
+        count(Operation.LIST);
+        if (since < clearedAt) {
+            return null;
+        }
+        return changes.entrySet().stream()
+                .filter(change -> change.getValue() > since)
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Looks up a book for a listing without counting it as a separate read.
+     */
+    public Book peek(long id) {
+        return books.get(id);
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    public void clear() {
+        books.clear();
+        changes.clear();
+        ids.set(0);
+        clearedAt = version.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Long> operations = new LinkedHashMap<>();
+        counters.forEach((operation, counter) -> operations.put(operation.name().toLowerCase(), counter.sum()));
+        double uptimeSeconds = (System.nanoTime() - startNanos) / 1e9;
+        stats.put("size", size());
+        stats.put("operations", operations);
+        stats.put("total", total());
+        stats.put("uptimeSeconds", Math.round(uptimeSeconds));
+        stats.put("averageOpsPerSecond", Math.round(total() / uptimeSeconds));
+        return stats;
+    }
+
+    private long total() {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private void changed(long id) {
+        changes.put(id, (Long) version.incrementAndGet());
+    }
+
+    private void count(Operation operation) {
+        counters.get(operation).increment();
+    }
+
+    private void report(long intervalMillis) {
+        long total = total();
+        long delta = total - lastReportTotal;
+        lastReportTotal = total;
+        if (delta > 0) {
+            log.info("Book store: {} ops/s over the last {} ms, {} books, {}",
+                    delta * 1000 / intervalMillis, intervalMillis, size(), stats().get("operations"));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+    }
+}
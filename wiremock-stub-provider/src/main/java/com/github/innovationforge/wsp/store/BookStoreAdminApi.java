@@ -0,0 +1,50 @@
+package com.github.innovationforge.wsp.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.admin.Router;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.AdminApiExtension;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+/**
+ * {@code GET /__admin/store} reports size and operation counts, {@code DELETE /__admin/store} empties the
+ * store and restarts id generation.
+ */
+public class BookStoreAdminApi implements AdminApiExtension {
+
+    private final BookStore store;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BookStoreAdminApi(BookStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void contributeAdminApiRoutes(Router router) {
+        router.add(RequestMethod.GET, "/store", (admin, request, pathParams) -> stats());
+        router.add(RequestMethod.DELETE, "/store", (admin, request, pathParams) -> {
+            store.clear();
+            return stats();
+        });
+    }
+
+    private ResponseDefinition stats() {
+        try {
+            return ResponseDefinitionBuilder.responseDefinition()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(objectMapper.writeValueAsString(store.stats()))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "book-store-admin";
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.innovationforge.wsp.store;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.innovationforge.wsp.fault.FaultInjectionTransformer;
+import com.github.innovationforge.wsp.support.JsonArrayInputStream;
+import com.github.innovationforge.wsp.support.Requests;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Serves the book mappings from a {@link BookStore}, so writes are visible to later reads. Responses already
+ * turned into errors or faults by {@link FaultInjectionTransformer} are left alone and do not touch the store.
+ */
+public class BookStoreTransformer extends ResponseTransformer {
+
+    public static final String NAME = "book-store";
+
+    public static final String VERSION_HEADER = "X-Catalog-Version";
+
+    // "delta" when a changedSince listing holds only changes, "full" when it is the whole catalog
+    public static final String CHANGES_HEADER = "X-Catalog-Changes";
+
+    private static final HttpHeaders JSON_HEADERS = new HttpHeaders(new HttpHeader("Content-Type", "application/json"));
+
+    private final BookStore store;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BookStoreTransformer(BookStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+        Object mapping = parameters == null ? null : parameters.get(FaultInjectionTransformer.MAPPING_PARAMETER);
+        if (mapping == null || response.getStatus() >= 400 || response.getFault() != null) {
+            return response;
+        }
+        try {
+            return switch (mapping.toString()) {
+                case "list_books" -> listing(request, response);
+                case "get_book" -> found(response, 200, store.get(Requests.idFromPath(request)));
+                case "create_book" -> found(response, 201, store.create(read(request)));
+                case "update_book" -> found(response, 200, store.update(Requests.idFromPath(request), read(request)));
+                case "delete_book" -> {
+                    store.delete(Requests.idFromPath(request));
+                    yield Response.Builder.like(response).but().status(204).headers(new HttpHeaders()).body(new byte[0]).build();
+                }
+                default -> response;
+            };
+        } catch (IOException e) {
+            return Response.Builder.like(response).but().status(400).headers(new HttpHeaders()).body(e.getMessage()).build();
+        }
+    }
+
+    private Book read(Request request) throws IOException {
+        return objectMapper.readValue(request.getBody(), Book.class);
+    }
+
+    private Response found(Response response, int status, Book book) throws IOException {
+        if (book == null) {
+            return Response.Builder.like(response).but().status(404).headers(new HttpHeaders()).body(new byte[0]).build();
+        }
+        return json(response, status).body(objectMapper.writeValueAsBytes(book)).build();
+    }
+
+    // Takes the id snapshot once; WireMock may open the body more than once (e.g. for its logged copy)
+    private Response listing(Request request, Response response) {
+        if (request.queryParameter("changedSince").isPresent()) {
+            return changes(response, Requests.longParameter(request, "changedSince", -1));
+        }
+        long[] ids = store.ids();
+        long after = Requests.longParameter(request, "after", -1);
+        int from = after >= 0 ? firstAfter(ids, after) : (int) Math.min(ids.length, Requests.longParameter(request, "offset", 0));
+        int to = (int) Math.min(ids.length, from + Math.min(Requests.longParameter(request, "limit", ids.length), ids.length));
+        return json(response, 200).body(() -> stream(ids, from, to)).build();
+    }
+
+    // The version is read before the ids, so a change racing with the listing is sent again next time rather than
+    // missed; deleted books are sent as {"id": ..., "deleted": true}. A negative version asks for the full catalog.
+    private Response changes(Response response, long since) {
+        long version = store.version();
+        long[] changed = since < 0 ? null : store.changedSince(since);
+        boolean delta = changed != null;
+        long[] ids = delta ? changed : store.ids();
+        return Response.Builder.like(response).but().status(200)
+                .headers(JSON_HEADERS
+                        .plus(new HttpHeader(VERSION_HEADER, String.valueOf(version)))
+                        .plus(new HttpHeader(CHANGES_HEADER, delta ? "delta" : "full")))
+                .body(() -> streamChanges(ids, delta))
+                .build();
+    }
+
+    private InputStream streamChanges(long[] ids, boolean withDeletes) {
+        int[] next = {0};
+        return new JsonArrayInputStream(generator -> {
+            while (next[0] < ids.length) {
+                long id = ids[next[0]++];
+                Book book = store.peek(id);
+                if (book != null) {
+                    write(generator, book);
+                    return true;
+                }
+                if (withDeletes) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", id);
+                    generator.writeBooleanField("deleted", true);
+                    generator.writeEndObject();
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private InputStream stream(long[] ids, int from, int to) {
+        int[] next = {from};
+        return new JsonArrayInputStream(generator -> {
+            while (next[0] < to) {
+                Book book = store.peek(ids[next[0]++]);
+                // Skips books deleted since the ids were read
+                if (book != null) {
+                    write(generator, book);
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static int firstAfter(long[] sortedIds, long after) {
+        int index = Arrays.binarySearch(sortedIds, after);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static void write(JsonGenerator generator, Book book) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", book.id());
+        generator.writeStringField("title", book.title());
+        generator.writeStringField("author", book.author());
+        generator.writeStringField("isbn", book.isbn());
+        generator.writeEndObject();
+    }
+
+    private static Response.Builder json(Response response, int status) {
+        return Response.Builder.like(response).but().status(status).headers(JSON_HEADERS);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.innovationforge.wsp.support;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * An {@link InputStream} over a JSON array whose elements are written on demand as the stream is read, a
+ * buffer's worth at a time, so arbitrarily long listings can be served without materializing them. Given a
+ * Smile or CBOR factory the array is written in that encoding instead.
+ */
+public class JsonArrayInputStream extends InputStream {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Bytes encoded per refill
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    @FunctionalInterface
+    public interface ElementWriter {
+
+        /**
+         * Writes the next element, or returns {@code false} when the array is complete.
+         */
+        boolean writeNext(JsonGenerator generator) throws IOException;
+    }
+
+    private final Buffer buffer = new Buffer();
+
+    private final JsonGenerator generator;
+
+    private final ElementWriter elements;
+
+    private int position;
+
+    private boolean finished;
+
+    public JsonArrayInputStream(ElementWriter elements) {
+        this(JSON_FACTORY, elements);
+    }
+
+    public JsonArrayInputStream(JsonFactory factory, ElementWriter elements) {
+        this.elements = elements;
+        try {
+            this.generator = factory.createGenerator(buffer, JsonEncoding.UTF8);
+            generator.writeStartArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static JsonGenerator createGenerator(ByteArrayOutputStream out) throws IOException {
+        return JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        while (position == buffer.size()) {
+            if (finished) {
+                return -1;
+            }
+            refill();
+        }
+        int count = Math.min(length, buffer.size() - position);
+        System.arraycopy(buffer.bytes(), position, target, offset, count);
+        position += count;
+        return count;
+    }
+
+    private void refill() throws IOException {
+        buffer.reset();
+        position = 0;
+        while (buffer.size() < CHUNK_BYTES) {
+            if (!elements.writeNext(generator)) {
+                generator.writeEndArray();
+                generator.close();
+                finished = true;
+                return;
+            }
+            generator.flush();
+        }
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(CHUNK_BYTES + 1024);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.innovationforge.wsp.support;
+
+import com.github.tomakehurst.wiremock.http.QueryParameter;
+import com.github.tomakehurst.wiremock.http.Request;
+
+import java.net.URI;
+
+public final class Requests {
+
+    private Requests() {
+    }
+
+    public static long longParameter(Request request, String name, long defaultValue) {
+        QueryParameter parameter = request.queryParameter(name);
+        return parameter.isPresent() ? Long.parseLong(parameter.firstValue()) : defaultValue;
+    }
+
+    /**
+     * The id in the last path segment, e.g. 42 for {@code /api/books/42}, or -1 when it is not a number.
+     */
+    public static long idFromPath(Request request) {
+        String path = URI.create(request.getUrl()).getPath();
+        try {
+            return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.innovationforge.wsp.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for SyntheticCatalog")
+public class SyntheticCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should stream the same records that are served by id")
+    public void testListingMatchesSingleBooks() throws IOException {
+        SyntheticCatalog catalog = new SyntheticCatalog(2_000, 7);
+
+        JsonNode listing;
+        try (InputStream in = catalog.stream(1, Long.MAX_VALUE)) {
+            listing = objectMapper.readTree(in);
+        }
+
+        assertEquals(2_000, listing.size());
+        Set<String> isbns = new HashSet<>();
+        for (int i = 0; i < listing.size(); i++) {
+            JsonNode book = listing.get(i);
+            assertEquals(i + 1, book.get("id").asLong());
+            assertEquals(objectMapper.readTree(catalog.bookJson(i + 1)), book);
+            assertTrue(isbns.add(book.get("isbn").asText()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should be deterministic for a seed")
+    public void testDeterministic() throws IOException {
+        assertEquals(objectMapper.readTree(new SyntheticCatalog(100, 1).bookJson(42)),
+                objectMapper.readTree(new SyntheticCatalog(100, 1).bookJson(42)));
+        assertNotEquals(objectMapper.readTree(new SyntheticCatalog(100, 1).bookJson(42)),
+                objectMapper.readTree(new SyntheticCatalog(100, 2).bookJson(42)));
+    }
+
+    @Test
+    @DisplayName("Should generate valid ISBN-13 check digits")
+    public void testIsbnCheckDigit() throws IOException {
+        SyntheticCatalog catalog = new SyntheticCatalog(1_000, 42);
+        for (long id = 1; id <= 1_000; id++) {
+            String isbn = objectMapper.readTree(catalog.bookJson(id)).get("isbn").asText();
+            int sum = 0;
+            for (int i = 0; i < 13; i++) {
+                sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+            }
+            assertEquals(0, sum % 10, isbn);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream a window of the catalog")
+    public void testWindow() throws IOException {
+        SyntheticCatalog catalog = new SyntheticCatalog(1_000, 42);
+
+        JsonNode window = objectMapper.readTree(catalog.stream(996, 10));
+        assertEquals(5, window.size());
+        assertEquals(996, window.get(0).get("id").asLong());
+
+        assertEquals(0, objectMapper.readTree(catalog.stream(1_001, 10)).size());
+        assertFalse(catalog.contains(1_001));
+    }
+
+    @Test
+    @DisplayName("Should reject sizes outside the supported range")
+    public void testSizeRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalog(0, 42));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalog(SyntheticCatalog.MAX_SIZE + 1, 42));
+    }
+}
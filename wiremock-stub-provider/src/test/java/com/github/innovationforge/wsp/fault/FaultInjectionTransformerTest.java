@@ -0,0 +1,103 @@
+package com.github.innovationforge.wsp.fault;
+
+import com.github.innovationforge.wsp.config.FaultProfileProperties;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests for FaultInjectionTransformer")
+public class FaultInjectionTransformerTest {
+
+    private final ResponseDefinition stubResponse = ResponseDefinitionBuilder.responseDefinition()
+            .withStatus(200)
+            .withBodyFile("get_book_response.json")
+            .build();
+
+    private FaultProfiles faultProfiles;
+
+    private FaultInjectionTransformer transformer;
+
+    @BeforeEach
+    public void setUp() {
+        FaultProfile slow = new FaultProfile();
+        slow.setFixedDelay(Duration.ofMillis(200));
+        FaultProfile lognormal = new FaultProfile();
+        lognormal.setLognormalMedian(Duration.ofMillis(80));
+        FaultProfile outage = new FaultProfile();
+        outage.setErrorPercentage(100);
+        FaultProfile resets = new FaultProfile();
+        resets.setResetPercentage(100);
+
+        FaultProfileProperties properties = new FaultProfileProperties();
+        properties.setProfiles(Map.of("slow", slow, "lognormal", lognormal, "outage", outage, "resets", resets));
+        faultProfiles = new FaultProfiles(properties);
+        transformer = new FaultInjectionTransformer(faultProfiles);
+    }
+
+    @Test
+    @DisplayName("Should leave responses unchanged without an active profile")
+    public void testNoProfile() {
+        assertSame(stubResponse, transformer.transform(null, stubResponse, null, Parameters.empty()));
+    }
+
+    @Test
+    @DisplayName("Should add delays from the global profile")
+    public void testGlobalDelay() {
+        faultProfiles.activate("slow");
+        assertEquals(200, transformer.transform(null, stubResponse, null, Parameters.empty()).getFixedDelayMilliseconds());
+        assertEquals("get_book_response.json",
+                transformer.transform(null, stubResponse, null, Parameters.empty()).getBodyFileName());
+
+        faultProfiles.activate("lognormal");
+        assertInstanceOf(LogNormal.class, transformer.transform(null, stubResponse, null, Parameters.empty()).getDelayDistribution());
+    }
+
+    @Test
+    @DisplayName("Should replace the body with an error response")
+    public void testErrorPercentage() {
+        faultProfiles.activate("outage");
+        ResponseDefinition response = transformer.transform(null, stubResponse, null, Parameters.empty());
+        assertEquals(503, response.getStatus());
+        assertNull(response.getBodyFileName());
+    }
+
+    @Test
+    @DisplayName("Should reset connections")
+    public void testResetPercentage() {
+        faultProfiles.activate("resets");
+        assertEquals(Fault.CONNECTION_RESET_BY_PEER, transformer.transform(null, stubResponse, null, Parameters.empty()).getFault());
+    }
+
+    @Test
+    @DisplayName("Should prefer the mapping profile over the global one")
+    public void testMappingProfile() {
+        faultProfiles.activate("slow");
+        faultProfiles.activate("get_book", "outage");
+
+        assertEquals(503, transformer.transform(null, stubResponse, null, Parameters.one("mapping", "get_book")).getStatus());
+        assertEquals(200, transformer.transform(null, stubResponse, null, Parameters.one("mapping", "list_books")).getStatus());
+
+        faultProfiles.activate("get_book", FaultProfiles.NONE);
+        assertEquals(200, transformer.transform(null, stubResponse, null, Parameters.one("mapping", "get_book")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown profiles")
+    public void testUnknownProfile() {
+        assertThrows(IllegalArgumentException.class, () -> faultProfiles.activate("missing"));
+    }
+}
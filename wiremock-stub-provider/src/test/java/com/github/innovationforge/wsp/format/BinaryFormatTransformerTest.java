@@ -0,0 +1,98 @@
+package com.github.innovationforge.wsp.format;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests for BinaryFormatTransformer")
+public class BinaryFormatTransformerTest {
+
+    private static final String LISTING = "[{\"id\":1,\"title\":\"Book 1\"},{\"id\":2,\"title\":\"Book 2\"}]";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private final BinaryFormatTransformer transformer = new BinaryFormatTransformer();
+
+    @Test
+    @DisplayName("Should pick a binary type only when it is preferred over JSON")
+    public void testPreferredBinaryType() {
+        assertEquals("application/x-jackson-smile", BinaryFormatTransformer.preferredBinaryType("application/x-jackson-smile"));
+        assertEquals("application/cbor", BinaryFormatTransformer.preferredBinaryType("application/cbor;q=0.9, application/json"));
+        assertNull(BinaryFormatTransformer.preferredBinaryType("application/json, application/x-jackson-smile, application/cbor"));
+        assertNull(BinaryFormatTransformer.preferredBinaryType("*/*"));
+        assertNull(BinaryFormatTransformer.preferredBinaryType(null));
+    }
+
+    @Test
+    @DisplayName("Should transcode listings and single books")
+    public void testTranscode() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        byte[] listing = BinaryFormatTransformer.transcode(stream(LISTING), new SmileFactory()).readAllBytes();
+        assertEquals(jsonMapper.readTree(LISTING), smileMapper.readTree(listing));
+
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        String book = "{\"id\":1,\"title\":\"Book 1\"}";
+        byte[] single = BinaryFormatTransformer.transcode(stream(book), new CBORFactory()).readAllBytes();
+        assertEquals(jsonMapper.readTree(book), cborMapper.readTree(single));
+
+        byte[] empty = BinaryFormatTransformer.transcode(stream("[]"), new SmileFactory()).readAllBytes();
+        assertEquals(0, smileMapper.readTree(empty).size());
+    }
+
+    @Test
+    @DisplayName("Should re-encode JSON responses for clients asking for Smile")
+    public void testTransform() throws Exception {
+        Response response = jsonResponse(200);
+
+        Response smile = transformer.transform(request("application/x-jackson-smile"), response, null, null);
+
+        assertEquals("application/x-jackson-smile", smile.getHeaders().getContentTypeHeader().mimeTypePart());
+        JsonNode books = new ObjectMapper(new SmileFactory()).readTree(smile.getBodyStream().readAllBytes());
+        assertEquals(jsonMapper.readTree(LISTING), books);
+    }
+
+    @Test
+    @DisplayName("Should leave JSON clients and error responses alone")
+    public void testPassThrough() {
+        Response response = jsonResponse(200);
+        assertSame(response, transformer.transform(request("application/json"), response, null, null));
+        assertSame(response, transformer.transform(request(null), response, null, null));
+
+        Response error = jsonResponse(503);
+        assertSame(error, transformer.transform(request("application/cbor"), error, null, null));
+    }
+
+    private static Response jsonResponse(int status) {
+        return Response.response()
+                .status(status)
+                .headers(new HttpHeaders(new HttpHeader("Content-Type", "application/json")))
+                .body(LISTING)
+                .build();
+    }
+
+    private static Request request(String accept) {
+        Request request = mock(Request.class);
+        when(request.getHeader("Accept")).thenReturn(accept);
+        return request;
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
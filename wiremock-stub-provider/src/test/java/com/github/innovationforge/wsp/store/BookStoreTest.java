@@ -0,0 +1,103 @@
+package com.github.innovationforge.wsp.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for BookStore")
+public class BookStoreTest {
+
+    private final BookStore store = new BookStore(Duration.ZERO);
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should make writes visible to later reads")
+    public void testReadAfterWrite() {
+        Book created = store.create(new Book(null, "Title", "Author", "ISBN"));
+        assertEquals(new Book(created.id(), "Title", "Author", "ISBN"), store.get(created.id()));
+
+        store.update(created.id(), new Book(null, "New title", "Author", "ISBN"));
+        assertEquals("New title", store.get(created.id()).title());
+
+        store.delete(created.id());
+        assertNull(store.get(created.id()));
+        assertNull(store.update(created.id(), new Book(null, "Gone", "Author", "ISBN")));
+    }
+
+    @Test
+    @DisplayName("Should continue ids after preloaded books and list them in order")
+    public void testIds() {
+        store.load(new Book(5L, "Five", "Author", "ISBN5"));
+        store.load(new Book(2L, "Two", "Author", "ISBN2"));
+
+        assertEquals(6L, store.create(new Book(null, "Six", "Author", "ISBN6")).id());
+        assertArrayEquals(new long[]{2, 5, 6}, store.ids());
+    }
+
+    @Test
+    @DisplayName("Should list the ids changed since a version, including deletes, until the store is cleared")
+    public void testChangedSince() {
+        store.load(new Book(1L, "One", "Author", "ISBN1"));
+        store.load(new Book(2L, "Two", "Author", "ISBN2"));
+        long version = store.version();
+
+        store.update(2L, new Book(null, "Second", "Author", "ISBN2"));
+        Book created = store.create(new Book(null, "Three", "Author", "ISBN3"));
+        store.delete(1L);
+
+        assertArrayEquals(new long[]{1, 2, 3}, store.changedSince(0));
+        assertArrayEquals(new long[]{1, 2, created.id()}, store.changedSince(version));
+        assertArrayEquals(new long[0], store.changedSince(store.version()));
+        assertNull(store.peek(1L));
+
+        store.clear();
+        assertNull(store.changedSince(version));
+        assertArrayEquals(new long[0], store.changedSince(store.version()));
+    }
+
+    @Test
+    @DisplayName("Should assign unique ids to concurrent creates")
+    public void testConcurrentCreates() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> ids.add(store.create(new Book(null, "Title", "Author", "ISBN")).id()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(10_000, ids.size());
+        assertEquals(10_000, store.size());
+    }
+
+    @Test
+    @DisplayName("Should count operations")
+    public void testStats() {
+        Book created = store.create(new Book(null, "Title", "Author", "ISBN"));
+        store.get(created.id());
+        store.get(-1);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> operations = (Map<String, Long>) store.stats().get("operations");
+        assertEquals(1L, operations.get("create"));
+        assertEquals(1L, operations.get("get"));
+        assertEquals(1L, operations.get("miss"));
+    }
+}